@@ -0,0 +1,68 @@
+package com.giantdwarf.infra.blob;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+
+@Controller
+@RequiredArgsConstructor
+public class BlobController {
+
+    //Tomcat이 sendfile을 쓸 수 있으면 요청에 넣어 주는 속성과, 보낼 파일을 알려 주는 속성.
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable().getHeaderValue();
+
+    private final BlobStore blobStore;
+    private final ImageStore imageStore;
+
+    /**
+     * 키가 내용의 해시이므로 같은 URL의 내용은 바뀌지 않는다. 1년 동안 immutable로 캐시하게 한다.
+     * 파일은 힙으로 읽지 않고 Tomcat sendfile로 커널이 바로 소켓에 보내게 하고, sendfile을 못 쓰는 환경에서만 스트림으로 복사한다.
+     */
+    @GetMapping(BlobStore.URL_PREFIX + "{key:.+}")
+    public void blob(@PathVariable String key, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path path = blobStore.find(key);
+        if (Objects.isNull(path)) {
+            //아직 만들지 않은 변형이면 원본을 보여준다. 변형이 생기면 바뀌어야 하므로 원본으로 보내는 응답은 캐시하지 않는다.
+            String sourceKey = imageStore.findVariantSource(key);
+            if (Objects.isNull(sourceKey)) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+            response.sendRedirect(BlobStore.URL_PREFIX + sourceKey);
+            return;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        if (new ServletWebRequest(request, response).checkNotModified(key)) {
+            return;
+        }
+
+        long length = Files.size(path);
+        response.setContentType(blobStore.mediaTypeOf(key));
+        response.setContentLengthLong(length);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            return;
+        }
+        Files.copy(path, response.getOutputStream());
+    }
+}
@@ -0,0 +1,181 @@
+package com.giantdwarf.infra.blob;
+
+import com.giantdwarf.infra.config.AppProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * 이미지 같은 바이너리를 내용의 SHA-256 값으로 이름 지어 로컬 파일로 저장한다.
+ * 같은 내용은 한 번만 저장되고 한 번 저장된 키의 내용은 바뀌지 않으므로, BlobController가 오래 캐시해도 된다.
+ * 엔티티에는 URL_PREFIX + 키 형태의 짧은 URL만 남긴다. 원본에서 만든 변형은 원본 해시 뒤에 변형 이름을 붙인 키로 저장한다.
+ */
+@Component
+public class BlobStore {
+
+    public static final String URL_PREFIX = "/blobs/";
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}(-[a-z0-9]+)?\\.[a-z]{3,4}");
+
+    private static final Pattern SOURCE_KEY = Pattern.compile("[0-9a-f]{64}\\.[a-z]{3,4}");
+
+    private static final Map<String, String> EXTENSION_BY_MEDIA_TYPE = Map.of(
+            "image/png", "png",
+            "image/jpeg", "jpg",
+            "image/gif", "gif",
+            "image/webp", "webp");
+
+    private static final Map<String, String> MEDIA_TYPE_BY_EXTENSION = Map.of(
+            "png", "image/png",
+            "jpg", "image/jpeg",
+            "gif", "image/gif",
+            "webp", "image/webp");
+
+    private final Path root;
+
+    public BlobStore(AppProperties appProperties) {
+        this.root = Paths.get(appProperties.getBlobRoot()).toAbsolutePath();
+    }
+
+    public String put(byte[] bytes, String mediaType) {
+        String key = hex(sha256().digest(bytes)) + "." + extensionOf(mediaType);
+        write(key, bytes);
+        return key;
+    }
+
+    /**
+     * 내용을 메모리에 모으지 않고 임시 파일에 쓰면서 해시를 구한 뒤, 해시로 정한 키로 옮긴다.
+     */
+    public String put(InputStream in, String mediaType) {
+        String extension = extensionOf(mediaType);
+        try {
+            Files.createDirectories(root);
+            Path temp = Files.createTempFile(root, "upload", ".tmp");
+            try {
+                MessageDigest digest = sha256();
+                try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                    in.transferTo(out);
+                }
+                String key = hex(digest.digest()) + "." + extension;
+                Path path = pathOf(key);
+                if (!Files.exists(path)) {
+                    Files.createDirectories(path.getParent());
+                    Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                }
+                return key;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 같은 키의 파일이 이미 있으면 다시 쓰지 않는다. 임시 파일에 쓴 뒤 옮기므로 읽는 쪽이 쓰다 만 파일을 보지 않는다.
+     */
+    public void write(String key, byte[] bytes) {
+        if (!KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("잘못된 키입니다. " + key);
+        }
+        Path path = pathOf(key);
+        if (Files.exists(path)) {
+            return;
+        }
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), key, ".tmp");
+            try {
+                Files.write(temp, bytes);
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 키 형식이 아니거나 파일이 없으면 null. 키 형식만 받으므로 root 밖의 경로는 열 수 없다.
+     */
+    public Path find(String key) {
+        if (Objects.isNull(key) || !KEY.matcher(key).matches()) {
+            return null;
+        }
+        Path path = pathOf(key);
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    /**
+     * 변형 키와 같은 해시를 가진 원본의 키. 원본의 확장자는 알 수 없으므로 저장할 수 있는 확장자를 차례로 찾아본다.
+     */
+    public String findSourceKey(String hash) {
+        for (String extension : MEDIA_TYPE_BY_EXTENSION.keySet()) {
+            String key = hash + "." + extension;
+            if (!Objects.isNull(find(key))) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    public long size(String key) {
+        try {
+            return Files.size(pathOf(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static boolean isSourceKey(String key) {
+        return SOURCE_KEY.matcher(key).matches();
+    }
+
+    public static String hashOf(String key) {
+        return key.substring(0, Math.min(64, key.length()));
+    }
+
+    public String mediaTypeOf(String key) {
+        return MEDIA_TYPE_BY_EXTENSION.get(key.substring(key.lastIndexOf('.') + 1));
+    }
+
+    //한 디렉터리에 파일이 너무 많아지지 않도록 키 앞 두 글자로 나눈다.
+    private Path pathOf(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private static String extensionOf(String mediaType) {
+        String extension = EXTENSION_BY_MEDIA_TYPE.get(mediaType);
+        if (Objects.isNull(extension)) {
+            throw new IllegalArgumentException("지원하지 않는 이미지 형식입니다. " + mediaType);
+        }
+        return extension;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] digest) {
+        return String.format("%064x", new BigInteger(1, digest));
+    }
+}
@@ -0,0 +1,122 @@
+package com.giantdwarf.infra.blob;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 화면에서 올라온 이미지를 검사해 BlobStore에 저장하고, 변형 만들기는 ImageVariantGenerator에 맡긴다.
+ * 요청 스레드에서는 base64를 한 번 풀고 이미지 헤더만 읽는다. 픽셀을 푸는 일은 변형을 만들 때 한 번만 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImageStore {
+
+    static final int MAX_BYTES = 5 * 1024 * 1024;
+
+    //헤더에 적힌 크기만 보고 거른다. 작은 파일이 아주 큰 이미지로 풀리는 것을 막는다.
+    static final long MAX_PIXELS = 50_000_000L;
+
+    private static final String DATA_URL_SEPARATOR = ";base64,";
+
+    private final BlobStore blobStore;
+    private final ImageVariantGenerator imageVariantGenerator;
+
+    /**
+     * 엔티티에 저장할 원본 URL을 돌려준다. data URL이면 저장하고, 이미 저장된 URL은 그대로 돌려준다.
+     * 빈 값과 둘 다 아닌 값(옮기기 전의 Lob 값 등)은 null을 돌려준다. 형식은 data URL에 적힌 값이 아니라 실제 내용으로 정한다.
+     */
+    public String store(String image, List<ImageVariant> variants) {
+        if (!isImageUrl(image)) {
+            return null;
+        }
+        if (isSourceUrl(image)) {
+            return image;
+        }
+        String encoded = image.substring(image.indexOf(DATA_URL_SEPARATOR) + DATA_URL_SEPARATOR.length());
+        if ((long) encoded.length() * 3 / 4 > MAX_BYTES) {
+            throw new IllegalArgumentException("이미지는 " + MAX_BYTES / 1024 / 1024 + "MB까지 올릴 수 있습니다.");
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getDecoder().decode(encoded);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("이미지를 읽을 수 없습니다.");
+        }
+        String key = blobStore.put(bytes, readMediaType(bytes));
+        requestVariants(key, variants);
+        return BlobStore.URL_PREFIX + key;
+    }
+
+    /**
+     * BlobStore 원본 URL이나 data URL이면 true. Lob 컬럼이던 때의 값(large object OID)은 옮기기 전까지 읽을 수 없으므로
+     * 엔티티와 화면은 이 값이 false면 이미지가 없는 것으로 본다.
+     */
+    public static boolean isImageUrl(String value) {
+        return StringUtils.hasText(value)
+                && (isSourceUrl(value) || (value.startsWith("data:") && value.contains(DATA_URL_SEPARATOR)));
+    }
+
+    private static boolean isSourceUrl(String value) {
+        return value.startsWith(BlobStore.URL_PREFIX) && BlobStore.isSourceKey(value.substring(BlobStore.URL_PREFIX.length()));
+    }
+
+    /**
+     * 아직 없는 변형 대신 보여줄 원본의 키. 원본도 없으면 null.
+     * 누구나 보낼 수 있는 GET 요청이 이미지 처리를 일으키지 않도록 여기서는 변형을 만들지 않는다. 변형은 올릴 때와 옮길 때만 만든다.
+     */
+    public String findVariantSource(String variantKey) {
+        ImageVariant variant = ImageVariant.ofKey(variantKey);
+        if (Objects.isNull(variant) || !variant.keyOf(variantKey).equals(variantKey)) {
+            return null;
+        }
+        return blobStore.findSourceKey(BlobStore.hashOf(variantKey));
+    }
+
+    public void requestVariants(String sourceKey, List<ImageVariant> variants) {
+        if (!imageVariantGenerator.start(sourceKey)) {
+            return;
+        }
+        try {
+            imageVariantGenerator.generate(sourceKey, variants);
+        } catch (TaskRejectedException e) {
+            //큐가 차면 버린다. 변형이 없는 동안은 원본을 보여준다.
+            imageVariantGenerator.cancel(sourceKey);
+            log.warn("image variants of {} were not queued", sourceKey);
+        }
+    }
+
+    private static String readMediaType(byte[] bytes) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("이미지를 읽을 수 없습니다.");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    throw new IllegalArgumentException("이미지 해상도가 너무 큽니다.");
+                }
+                return reader.getOriginatingProvider().getMIMETypes()[0];
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("이미지를 읽을 수 없습니다.");
+        }
+    }
+}
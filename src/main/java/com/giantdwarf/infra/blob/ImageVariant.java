@@ -0,0 +1,113 @@
+package com.giantdwarf.infra.blob;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 원본 이미지에서 만드는 고정 크기 변형. 가운데를 비율에 맞게 잘라낸 뒤 크기를 맞춘다.
+ * 변형의 키는 원본 해시 + 이름이다. 같은 원본에서는 항상 같은 내용이 나오므로 원본처럼 오래 캐시해도 된다.
+ */
+public enum ImageVariant {
+
+    BANNER("banner", 1300, 200),
+    CARD("card", 350, 54),
+    AVATAR_48("avatar48", 48, 48),
+    AVATAR_128("avatar128", 128, 128);
+
+    public static final List<ImageVariant> STUDY_IMAGE = List.of(BANNER, CARD);
+
+    public static final List<ImageVariant> PROFILE_IMAGE = List.of(AVATAR_48, AVATAR_128);
+
+    static final String EXTENSION = "jpg";
+
+    private final String name;
+
+    private final int width;
+
+    private final int height;
+
+    ImageVariant(String name, int width, int height) {
+        this.name = name;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * 화면에 size 픽셀로 그릴 때 쓸 수 있는 가장 작은 아바타.
+     */
+    public static ImageVariant avatarFor(int size) {
+        return size <= AVATAR_48.width ? AVATAR_48 : AVATAR_128;
+    }
+
+    /**
+     * BlobStore에 저장된 원본 URL이면 이 변형의 URL을, 기본 이미지처럼 BlobStore URL이 아니면 그대로 돌려준다.
+     */
+    public String urlOf(String url) {
+        if (Objects.isNull(url) || !url.startsWith(BlobStore.URL_PREFIX)) {
+            return url;
+        }
+        String key = url.substring(BlobStore.URL_PREFIX.length());
+        return BlobStore.isSourceKey(key) ? BlobStore.URL_PREFIX + keyOf(key) : url;
+    }
+
+    public String keyOf(String sourceKey) {
+        return BlobStore.hashOf(sourceKey) + "-" + name + "." + EXTENSION;
+    }
+
+    public static ImageVariant ofKey(String key) {
+        for (ImageVariant variant : values()) {
+            if (key.endsWith("-" + variant.name + "." + EXTENSION)) {
+                return variant;
+            }
+        }
+        return null;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * 가운데를 변형 비율로 자르고, 반씩 줄여 가다가 마지막에 정확한 크기로 맞춘다.
+     * 한 번에 크게 줄이면 bilinear 보간이 픽셀을 건너뛰어 계단이 생기기 때문이다. 투명한 부분은 흰색으로 채운다.
+     */
+    BufferedImage resize(BufferedImage source) {
+        int cropWidth = source.getWidth();
+        int cropHeight = (int) Math.round((double) cropWidth * height / width);
+        if (cropHeight > source.getHeight()) {
+            cropHeight = source.getHeight();
+            cropWidth = Math.max(1, (int) Math.round((double) cropHeight * width / height));
+        }
+        BufferedImage current = source.getSubimage((source.getWidth() - cropWidth) / 2, (source.getHeight() - cropHeight) / 2,
+                cropWidth, cropHeight);
+
+        int currentWidth = cropWidth;
+        int currentHeight = cropHeight;
+        boolean first = true;
+        do {
+            currentWidth = Math.max(currentWidth / 2, width);
+            currentHeight = Math.max(currentHeight / 2, height);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            if (first) {
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, currentWidth, currentHeight);
+                first = false;
+            }
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            graphics.dispose();
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+}
@@ -0,0 +1,109 @@
+package com.giantdwarf.infra.blob;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 원본 이미지에서 변형을 만들어 BlobStore에 저장한다. 요청 스레드가 아니라 imageExecutor에서 돌고,
+ * 같은 원본을 동시에 두 번 만들지 않도록 ImageStore가 start로 표시한 뒤에 맡긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImageVariantGenerator {
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final BlobStore blobStore;
+
+    private final Set<String> inProgress = ConcurrentHashMap.newKeySet();
+
+    public boolean start(String sourceKey) {
+        return inProgress.add(sourceKey);
+    }
+
+    public void cancel(String sourceKey) {
+        inProgress.remove(sourceKey);
+    }
+
+    /**
+     * 없는 변형만 만든다. 원본은 한 번만 풀고, 가장 큰 변형보다 충분히 크면 읽을 때부터 줄여서 푼다.
+     */
+    @Async("imageExecutor")
+    public void generate(String sourceKey, List<ImageVariant> variants) {
+        try {
+            List<ImageVariant> missing = variants.stream()
+                    .filter(variant -> Objects.isNull(blobStore.find(variant.keyOf(sourceKey))))
+                    .collect(Collectors.toList());
+            Path source = blobStore.find(sourceKey);
+            if (missing.isEmpty() || Objects.isNull(source)) {
+                return;
+            }
+            BufferedImage image = read(source, missing);
+            for (ImageVariant variant : missing) {
+                blobStore.write(variant.keyOf(sourceKey), writeJpeg(variant.resize(image)));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("failed to generate image variants of {}", sourceKey, e);
+        } finally {
+            inProgress.remove(sourceKey);
+        }
+    }
+
+    private static BufferedImage read(Path source, List<ImageVariant> variants) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IOException("unsupported image " + source);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = variants.stream().mapToInt(ImageVariant::getWidth).max().orElse(1);
+                int height = variants.stream().mapToInt(ImageVariant::getHeight).max().orElse(1);
+                int subsampling = Math.max(1, Math.min(reader.getWidth(0) / (width * 2), reader.getHeight(0) / (height * 2)));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static byte[] writeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,188 @@
+package com.giantdwarf.infra.blob;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 이미지를 Lob 컬럼에 data URL로 저장하던 때의 값을 BlobStore로 옮기고 컬럼을 URL로 바꾼다.
+ * id 순으로 CHUNK_SIZE개씩 id만 읽고, 값은 한 건씩 스트림으로 풀어 파일로 쓴 뒤 그 행만 작은 트랜잭션으로 바꾼다.
+ * 옮긴 행은 다시 고르지 않으므로 중간에 멈춰도 다음 시작 때 남은 행부터 이어서 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LegacyImageMigration {
+
+    static final int CHUNK_SIZE = 100;
+
+    //엔티티 클래스를 참조하지 않도록 테이블, 컬럼과 2차 캐시를 비울 엔티티 이름만 적는다.
+    static final List<Target> TARGETS = List.of(
+            new Target("study", "image", "com.giantdwarf.modules.study.Study", ImageVariant.STUDY_IMAGE),
+            new Target("account", "profile_image", null, ImageVariant.PROFILE_IMAGE));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlobStore blobStore;
+    private final ImageStore imageStore;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        migrate();
+    }
+
+    public void migrate() {
+        TARGETS.forEach(this::migrate);
+    }
+
+    private void migrate(Target target) {
+        long startedAt = System.nanoTime();
+        long lastId = 0;
+        long migrated = 0;
+        long failed = 0;
+        long bytes = 0;
+        List<Long> ids = findLegacyIdsAfter(target, lastId);
+        while (!ids.isEmpty()) {
+            for (Long id : ids) {
+                try {
+                    Long size = transactionTemplate.execute(status -> migrateRow(target, id));
+                    if (!Objects.isNull(size)) {
+                        migrated++;
+                        bytes += size;
+                        meterRegistry.counter("image.migration.rows", "table", target.table, "result", "migrated").increment();
+                        meterRegistry.counter("image.migration.bytes", "table", target.table).increment(size);
+                    }
+                } catch (RuntimeException e) {
+                    failed++;
+                    meterRegistry.counter("image.migration.rows", "table", target.table, "result", "failed").increment();
+                    log.warn("failed to migrate {}.{} of id {}", target.table, target.column, id, e);
+                }
+            }
+            lastId = ids.get(ids.size() - 1);
+            double seconds = Math.max((System.nanoTime() - startedAt) / 1e9, 0.001);
+            log.info("legacy image migration {}: up to id {}, {} migrated, {} failed, {} KB, {} rows/s, {} KB/s",
+                    target.table, lastId, migrated, failed, bytes / 1024,
+                    Math.round(migrated / seconds), Math.round(bytes / 1024 / seconds));
+            ids = findLegacyIdsAfter(target, lastId);
+        }
+    }
+
+    private List<Long> findLegacyIdsAfter(Target target, long lastId) {
+        return jdbcTemplate.queryForList("select id from " + target.table + " where " + target.legacyCondition()
+                + " and id > ? order by id limit ?", Long.class, lastId, CHUNK_SIZE);
+    }
+
+    /**
+     * 행을 잠그고 값을 스트림으로 읽어 BlobStore에 쓴 뒤 컬럼을 URL로 바꾼다. 그 사이에 다른 쪽이 먼저 바꿨으면 null.
+     * Hibernate가 PostgreSQL에 @Lob String을 쓸 때는 컬럼에 large object의 oid만 남기므로, 숫자면 large object에서 읽고 지운다.
+     */
+    private Long migrateRow(Target target, Long id) {
+        return jdbcTemplate.query("select " + target.column + " ~ '^[0-9]+$' as large_object, " + target.column
+                + " from " + target.table + " where id = ? and " + target.legacyCondition() + " for update", rs -> {
+            if (!rs.next()) {
+                return null;
+            }
+            boolean largeObject = rs.getBoolean(1);
+            String key;
+            try (Reader reader = largeObject ? rs.getClob(2).getCharacterStream() : rs.getCharacterStream(2)) {
+                String mediaType = readMediaType(reader);
+                key = blobStore.put(Base64.getMimeDecoder().wrap(new AsciiInputStream(reader)), mediaType);
+            } catch (IOException e) {
+                throw new IllegalArgumentException(e);
+            }
+            jdbcTemplate.update("update " + target.table + " set " + target.column + " = ?, version = version + 1 where id = ?",
+                    BlobStore.URL_PREFIX + key, id);
+            if (largeObject) {
+                unlink(rs);
+            }
+            if (!Objects.isNull(target.cachedEntityName)) {
+                entityManagerFactory.unwrap(SessionFactory.class).getCache().evictEntityData(target.cachedEntityName, id);
+            }
+            imageStore.requestVariants(key, target.variants);
+            return blobStore.size(key);
+        }, id);
+    }
+
+    private void unlink(ResultSet rs) throws SQLException {
+        jdbcTemplate.queryForObject("select lo_unlink(cast(? as oid))", Integer.class, Long.parseLong(rs.getString(2)));
+    }
+
+    //data:<형식>;base64, 까지만 읽고 형식을 돌려준다. 나머지는 그대로 남겨 base64로 푼다.
+    private static String readMediaType(Reader reader) throws IOException {
+        StringBuilder header = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1 && c != ',') {
+            header.append((char) c);
+            if (header.length() > 100) {
+                break;
+            }
+        }
+        String value = header.toString();
+        if (c != ',' || !value.startsWith("data:") || !value.endsWith(";base64")) {
+            throw new IOException("not a base64 data URL");
+        }
+        return value.substring("data:".length(), value.length() - ";base64".length());
+    }
+
+    @RequiredArgsConstructor
+    static class Target {
+
+        private final String table;
+
+        private final String column;
+
+        private final String cachedEntityName;
+
+        private final List<ImageVariant> variants;
+
+        String legacyCondition() {
+            return column + " is not null and " + column + " not like '" + BlobStore.URL_PREFIX + "%'";
+        }
+    }
+
+    //base64 글자만 들어 있는 Reader를 바이트 스트림으로 본다.
+    private static class AsciiInputStream extends InputStream {
+
+        private final Reader reader;
+
+        private final char[] buffer = new char[8192];
+
+        AsciiInputStream(Reader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return reader.read();
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int read = reader.read(buffer, 0, Math.min(length, buffer.length));
+            for (int i = 0; i < read; i++) {
+                bytes[offset + i] = (byte) buffer[i];
+            }
+            return read;
+        }
+    }
+}
@@ -11,4 +11,7 @@ public class AppProperties {
 
     private String host;
 
+    //BlobStore가 이미지를 저장하는 디렉터리
+    private String blobRoot;
+
 }
@@ -1,12 +1,14 @@
 package com.giantdwarf.infra.config;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Slf4j
 @Configuration
@@ -25,4 +27,31 @@ public class AsyncConfig implements AsyncConfigurer {
         executor.initialize();
         return executor;
     }
+
+    //대시보드 섹션 조회용. 커넥션 풀(기본 10개)을 다 쓰지 않도록 크기를 묶고, 큐가 차면 요청 스레드에서 돌리지 않고 거절한다.
+    //거절된 섹션은 DashboardService가 빈 값으로 그린다.
+    @Bean
+    public ThreadPoolTaskExecutor dashboardExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(50);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("DashboardExecutor-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    //이미지 변형 만들기용. CPU를 많이 쓰므로 작게 묶고, 큐가 차면 요청 스레드에서 돌리지 않고 거절한다.
+    @Bean
+    public ThreadPoolTaskExecutor imageExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("ImageExecutor-");
+        executor.initialize();
+        return executor;
+    }
 }
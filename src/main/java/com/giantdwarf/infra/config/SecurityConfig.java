@@ -1,5 +1,6 @@
 package com.giantdwarf.infra.config;
 
+import com.giantdwarf.infra.blob.BlobStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
@@ -27,7 +28,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     protected void configure(HttpSecurity http) throws Exception {
         http.authorizeRequests()
                 .mvcMatchers("/", "/login", "/sign-up", "/check-email-token",
-                        "/email-login", "/check-email-login", "/login-link", "/login-by-email", "/search/study").permitAll()
+                        "/email-login", "/check-email-login", "/login-link", "/login-by-email", "/search/study", "/search/study/suggestions").permitAll()
                 .mvcMatchers(HttpMethod.GET, "/profile/*").permitAll()
                 .anyRequest().authenticated();
 
@@ -52,7 +53,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     @Override
     public void configure(WebSecurity web) throws Exception {
         web.ignoring()
-                .mvcMatchers("/node_modules/**")
+                .mvcMatchers("/node_modules/**", BlobStore.URL_PREFIX + "**")
                 .requestMatchers(PathRequest.toStaticResources().atCommonLocations());
     }
 }
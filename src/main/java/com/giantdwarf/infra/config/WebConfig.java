@@ -1,5 +1,6 @@
 package com.giantdwarf.infra.config;
 
+import com.giantdwarf.infra.blob.BlobStore;
 import com.giantdwarf.modules.notification.NotificationInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.security.StaticResourceLocation;
@@ -23,6 +24,7 @@ public class WebConfig implements WebMvcConfigurer {
                 .flatMap(StaticResourceLocation::getPatterns)
                 .collect(Collectors.toList());
         staticResourcesPath.add("/node_modules/**");
+        staticResourcesPath.add(BlobStore.URL_PREFIX + "**");
 
 
         registry.addInterceptor(notificationInterceptor)
@@ -1,9 +1,12 @@
 package com.giantdwarf.modules.account;
 
+import com.giantdwarf.infra.blob.ImageStore;
+import com.giantdwarf.infra.blob.ImageVariant;
 import com.giantdwarf.modules.study.Study;
 import com.giantdwarf.modules.tag.Tag;
 import com.giantdwarf.modules.zone.Zone;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -45,7 +48,7 @@ public class Account {
 
     private String location;    //varchar(255)
 
-    @Lob @Basic(fetch = FetchType.EAGER)
+    //이미지는 BlobStore에 두고 URL만 저장한다.
     private String profileImage;
 
     private boolean studyCreatedByEmail;
@@ -66,6 +69,16 @@ public class Account {
     @ManyToMany
     private Set<Zone> zones = new HashSet<>();
 
+    //프로필과 상단 메뉴(프로필 이미지, 새 알림)가 바뀔 때 올리는 버전. 화면 ETag에 쓴다.
+    //기존 행이 있어도 컬럼을 더할 수 있도록 DB 기본값을 둔다.
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version = 0L;
+
+    public void increaseVersion() {
+        this.version++;
+    }
+
     public void generateEmailCheckToken() {
         this.emailCheckToken = UUID.randomUUID().toString();
         this.emailCheckTokenGeneratedAt = LocalDateTime.now();
@@ -83,4 +96,14 @@ public class Account {
     public boolean canSendConfirmEmail() {
         return this.emailCheckTokenGeneratedAt.isBefore(LocalDateTime.now().minusMinutes(1));
     }
+
+    //옮기기 전의 Lob 값처럼 읽을 수 없는 값이면 프로필 이미지가 없는 것으로 본다.
+    public String getProfileImage() {
+        return ImageStore.isImageUrl(profileImage) ? profileImage : null;
+    }
+
+    //화면에 size 픽셀로 그릴 프로필 이미지. 그 크기를 채우는 가장 작은 변형을 쓴다.
+    public String getAvatarUrl(int size) {
+        return ImageVariant.avatarFor(size).urlOf(getProfileImage());
+    }
 }
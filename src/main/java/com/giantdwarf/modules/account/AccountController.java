@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import javax.validation.Valid;
@@ -23,6 +24,7 @@ public class AccountController {
     private final SignUpFormValidator signUpFormValidator;
     private final AccountService accountService;
     private final AccountRepository accountRepository;
+    private final PageETagSupport pageETagSupport;
 
     @InitBinder("signUpForm") // SignUpForm 데이터를 받을떄 바인딩해줌.
     public void initBinder(WebDataBinder webDataBinder) {
@@ -84,7 +86,10 @@ public class AccountController {
     }
 
     @GetMapping("/profile/{nickname}")
-    public String viewProfile(@PathVariable String nickname, Model model, @CurrentUser Account account) {
+    public String viewProfile(@PathVariable String nickname, Model model, @CurrentUser Account account, ServletWebRequest webRequest) {
+        if (pageETagSupport.checkNotModified(webRequest, account, accountRepository.findPageVersionByNickname(nickname, account))) {
+            return null;
+        }
         Account accountToView = accountService.getAccount(nickname);
         model.addAttribute(accountToView); //이름을 주지 않으면 객체 타입의 이름이 들어감.
         model.addAttribute("isOwner", accountToView.equals(account));
@@ -0,0 +1,11 @@
+package com.giantdwarf.modules.account;
+
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional(readOnly = true)
+public interface AccountRepositoryExtension {
+
+    Long findVersionById(Long id);
+
+    String findPageVersionByNickname(String nickname, Account viewer);
+}
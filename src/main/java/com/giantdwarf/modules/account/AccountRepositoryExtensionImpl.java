@@ -0,0 +1,31 @@
+package com.giantdwarf.modules.account;
+
+import com.querydsl.core.Tuple;
+import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
+
+import java.util.Objects;
+
+public class AccountRepositoryExtensionImpl extends QuerydslRepositorySupport implements AccountRepositoryExtension {
+
+    public AccountRepositoryExtensionImpl() {
+        super(Account.class);
+    }
+
+    @Override
+    public Long findVersionById(Long id) {
+        QAccount account = QAccount.account;
+        return from(account).select(account.version)
+                .where(account.id.eq(id))
+                .fetchOne();
+    }
+
+    //프로필 화면의 버전과 보는 사람의 계정 버전을 한 번에 읽는다.
+    @Override
+    public String findPageVersionByNickname(String nickname, Account viewer) {
+        QAccount account = QAccount.account;
+        Tuple row = from(account).select(account.version, PageETagSupport.viewerVersion(viewer))
+                .where(account.nickname.eq(nickname))
+                .fetchOne();
+        return Objects.isNull(row) ? null : row.get(0, Long.class) + ":" + row.get(1, Long.class);
+    }
+}
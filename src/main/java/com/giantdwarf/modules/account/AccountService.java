@@ -1,6 +1,9 @@
 package com.giantdwarf.modules.account;
 
+import com.giantdwarf.modules.account.event.AccountInterestChangedEvent;
 import com.giantdwarf.modules.account.form.SignUpForm;
+import com.giantdwarf.infra.blob.ImageStore;
+import com.giantdwarf.infra.blob.ImageVariant;
 import com.giantdwarf.infra.config.AppProperties;
 import com.giantdwarf.modules.tag.Tag;
 import com.giantdwarf.modules.zone.Zone;
@@ -11,6 +14,7 @@ import com.giantdwarf.modules.account.form.Profile;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -40,6 +44,8 @@ public class AccountService implements UserDetailsService {
     private final ModelMapper modelMapper;
     private final TemplateEngine templateEngine;
     private final AppProperties appProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ImageStore imageStore;
 
     public Account processNewAccount(SignUpForm signUpForm) {
         Account savedAccount = saveNewAccount(signUpForm);
@@ -98,11 +104,16 @@ public class AccountService implements UserDetailsService {
 
     public void completeSignUp(Account account) {
         account.completeSignUp();
+        account.increaseVersion();
         login(account);
     }
 
     public void updateProfile(Account account, Profile profile) {
+        //이미지가 잘못되었으면 계정을 바꾸기 전에 예외가 나도록 먼저 저장한다.
+        String profileImage = imageStore.store(profile.getProfileImage(), ImageVariant.PROFILE_IMAGE);
         modelMapper.map(profile, account);   // source에 있는것을 destination에 등록해준다.
+        account.setProfileImage(profileImage);
+        increaseVersion(account);
         // account.setUrl(profile.getUrl())처럼 -url, occupation, location, bio, img등등을 다 해줄필요 없음
         accountRepository.save(account);
 
@@ -110,16 +121,19 @@ public class AccountService implements UserDetailsService {
 
     public void updatePassword(Account account, String newPassword) {
         account.setPassword(passwordEncoder.encode(newPassword));
+        increaseVersion(account);
         accountRepository.save(account);    //merge
     }
 
     public void updateNotifications(Account account, Notifications notifications) {
         modelMapper.map(notifications, account);
+        increaseVersion(account);
         accountRepository.save(account);
     }
 
     public void updateNickname(Account account, String nickname) {
         account.setNickname(nickname);
+        increaseVersion(account);
         accountRepository.save(account);
         login(account);
     }
@@ -144,7 +158,11 @@ public class AccountService implements UserDetailsService {
 
     public void addTag(Account account, Tag tag) {
         Optional<Account> byId = accountRepository.findById(account.getId());
-        byId.ifPresent(a -> a.getTags().add(tag));
+        byId.ifPresent(a -> {
+            a.getTags().add(tag);
+            a.increaseVersion();
+        });
+        eventPublisher.publishEvent(new AccountInterestChangedEvent(account.getId()));
     }
 
     public Set<Tag> getTags(Account account) {
@@ -154,7 +172,11 @@ public class AccountService implements UserDetailsService {
 
     public void removeTag(Account account, Tag tag) {
         Optional<Account> byId = accountRepository.findById(account.getId());
-        byId.ifPresent(a -> a.getTags().remove(tag));
+        byId.ifPresent(a -> {
+            a.getTags().remove(tag);
+            a.increaseVersion();
+        });
+        eventPublisher.publishEvent(new AccountInterestChangedEvent(account.getId()));
     }
 
     public Set<Zone> getZones(Account account) {
@@ -164,12 +186,25 @@ public class AccountService implements UserDetailsService {
 
     public void addZone(Account account, Zone zone) {
         Optional<Account> byId = accountRepository.findById(account.getId());
-        byId.ifPresent(a -> a.getZones().add(zone));
+        byId.ifPresent(a -> {
+            a.getZones().add(zone);
+            a.increaseVersion();
+        });
+        eventPublisher.publishEvent(new AccountInterestChangedEvent(account.getId()));
     }
 
     public void removeZone(Account account, Zone zone) {
         Optional<Account> byId = accountRepository.findById(account.getId());
-        byId.ifPresent(a -> a.getZones().remove(zone));
+        byId.ifPresent(a -> {
+            a.getZones().remove(zone);
+            a.increaseVersion();
+        });
+        eventPublisher.publishEvent(new AccountInterestChangedEvent(account.getId()));
+    }
+
+    //세션에 있는 계정은 로그인한 뒤로 버전이 바뀌었을 수 있으므로 DB에 있는 버전을 기준으로 올린 뒤 merge 한다.
+    private void increaseVersion(Account account) {
+        account.setVersion(accountRepository.findVersionById(account.getId()) + 1);
     }
 
     public Account getAccount(String nickname) {
@@ -0,0 +1,58 @@
+package com.giantdwarf.modules.account;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.jpa.JPAExpressions;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * 스터디, 모임, 프로필 화면의 조건부 GET 처리.
+ * 화면을 그리는 엔티티의 버전에 보는 사람의 계정 id, 계정 버전, 세션의 CSRF 토큰을 더해 ETag를 만든다.
+ * 계정 버전은 상단 메뉴의 프로필 이미지나 새 알림 표시가 바뀔 때도 올라가므로 다른 값이 섞인 화면을 돌려주지 않는다.
+ * 세션의 계정은 알림을 읽어서 올라간 버전을 모르므로, 계정 버전은 화면 버전을 읽는 쿼리에 {@link #viewerVersion}으로 붙여 같이 읽는다.
+ */
+@Component
+public class PageETagSupport {
+
+    /**
+     * 보는 사람의 계정 버전을 읽는 서브쿼리. 로그인하지 않았으면 null이 된다.
+     */
+    public static Expression<Long> viewerVersion(Account viewer) {
+        QAccount account = new QAccount("viewer");
+        return JPAExpressions.select(account.version)
+                .from(account)
+                .where(Objects.isNull(viewer) ? account.id.isNull() : account.id.eq(viewer.getId()));
+    }
+
+    /**
+     * 브라우저가 보낸 If-None-Match가 지금 ETag와 같으면 304 응답을 준비하고 true를 돌려준다.
+     * 엔티티가 없어서 버전을 읽지 못하면 평소대로 화면을 그리도록 false를 돌려준다.
+     * pageVersion에는 {@link #viewerVersion}으로 읽은 보는 사람의 계정 버전이 들어 있어야 한다.
+     */
+    public boolean checkNotModified(ServletWebRequest webRequest, Account viewer, Object pageVersion) {
+        if (Objects.isNull(pageVersion)) {
+            return false;
+        }
+
+        StringBuilder source = new StringBuilder(pageVersion.toString());
+        if (!Objects.isNull(viewer)) {
+            source.append('/').append(viewer.getId());
+            CsrfToken csrfToken = (CsrfToken) webRequest.getAttribute(CsrfToken.class.getName(), RequestAttributes.SCOPE_REQUEST);
+            if (!Objects.isNull(csrfToken)) {
+                source.append('/').append(csrfToken.getToken());
+            }
+        }
+
+        //스프링 시큐리티 기본값(no-store)이면 브라우저가 화면을 보관하지 않아 If-None-Match를 보내지 않는다.
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        return webRequest.checkNotModified(DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+}
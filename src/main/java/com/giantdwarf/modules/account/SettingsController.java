@@ -1,7 +1,5 @@
 package com.giantdwarf.modules.account;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.giantdwarf.modules.account.form.*;
 import com.giantdwarf.modules.tag.Tag;
 import com.giantdwarf.modules.zone.Zone;
@@ -9,7 +7,8 @@ import com.giantdwarf.modules.account.validator.NicknameValidator;
 import com.giantdwarf.modules.account.validator.PasswordFormValidator;
 import com.giantdwarf.modules.tag.TagRepository;
 import com.giantdwarf.modules.tag.TagService;
-import com.giantdwarf.modules.zone.ZoneRepository;
+import com.giantdwarf.modules.tag.TagWhitelist;
+import com.giantdwarf.modules.zone.ZoneRegistry;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.http.ResponseEntity;
@@ -21,7 +20,6 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import javax.validation.Valid;
-import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -46,9 +44,9 @@ public class SettingsController {
     private final ModelMapper modelMapper;
     private final NicknameValidator nicknameValidator;
     private final TagRepository tagRepository;
-    private final ObjectMapper objectMapper;
-    private final ZoneRepository zoneRepository;
+    private final ZoneRegistry zoneRegistry;
     private final TagService tagService;
+    private final TagWhitelist tagWhitelist;
 
     @InitBinder("passwordForm")
     public void passwordFormInitBinder(WebDataBinder webDataBinder) {
@@ -76,7 +74,14 @@ public class SettingsController {
             return SETTINGS + PROFILE;
         }
 
-        accountService.updateProfile(account, profile);
+        try {
+            accountService.updateProfile(account, profile);
+        } catch (IllegalArgumentException e) {
+            errors.rejectValue("profileImage", "wrong.value", e.getMessage());
+            profile.setProfileImage(account.getProfileImage());
+            model.addAttribute(account);
+            return SETTINGS + PROFILE;
+        }
         attributes.addFlashAttribute("message", "프로필을 수정하였습니다.");
         return "redirect:/" + SETTINGS + PROFILE;
     }
@@ -141,14 +146,13 @@ public class SettingsController {
     }
 
     @GetMapping(TAGS)
-    public String updateTags(@CurrentUser Account account, Model model) throws JsonProcessingException {
+    public String updateTags(@CurrentUser Account account, Model model) {
         model.addAttribute(account);
 
         Set<Tag> tags = accountService.getTags(account);
         model.addAttribute("tags", tags.stream().map(Tag::getTitle).collect(Collectors.toList()));
 
-        List<String> allTags = tagRepository.findAll().stream().map(Tag::getTitle).collect(Collectors.toList());
-        model.addAttribute("whitelist", objectMapper.writeValueAsString(allTags));
+        model.addAttribute("whitelistUrl", tagWhitelist.getUrl());
 
         return SETTINGS + TAGS;
     }
@@ -174,13 +178,12 @@ public class SettingsController {
     }
 
     @GetMapping(ZONES)
-    public String updateZonesForm(@CurrentUser Account account, Model model) throws JsonProcessingException {
+    public String updateZonesForm(@CurrentUser Account account, Model model) {
         model.addAttribute(account);
         Set<Zone> zones = accountService.getZones(account);
         model.addAttribute("zones", zones.stream().map(Zone::toString).collect(Collectors.toList()));
 
-        List<String> allZones = zoneRepository.findAll().stream().map(Zone::toString).collect(Collectors.toList());
-        model.addAttribute("whitelist", objectMapper.writeValueAsString(allZones));
+        model.addAttribute("whitelist", zoneRegistry.getWhitelistJson());
 
         return SETTINGS + ZONES;
     }
@@ -188,7 +191,7 @@ public class SettingsController {
     @PostMapping(ZONES + "/add")
     @ResponseBody
     public ResponseEntity addZones(@CurrentUser Account account, @RequestBody ZoneForm zoneForm) {
-        Zone zone = zoneRepository.findByCityAndProvince(zoneForm.getCityName(), zoneForm.getProvinceName());
+        Zone zone = zoneRegistry.find(zoneForm.getCityName(), zoneForm.getProvinceName());
         if (Objects.isNull(zone)) {
             return ResponseEntity.badRequest().build();
         }
@@ -200,7 +203,7 @@ public class SettingsController {
     @PostMapping(ZONES + "/remove")
     @ResponseBody
     public ResponseEntity removeZones(@CurrentUser Account account, @RequestBody ZoneForm zoneForm) {
-        Zone zone = zoneRepository.findByCityAndProvince(zoneForm.getCityName(), zoneForm.getProvinceName());
+        Zone zone = zoneRegistry.find(zoneForm.getCityName(), zoneForm.getProvinceName());
         if (Objects.isNull(zone)) {
             return ResponseEntity.badRequest().build();
         }
@@ -0,0 +1,14 @@
+package com.giantdwarf.modules.account.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 계정의 관심 주제(태그)나 활동 지역이 바뀌었을 때 발생한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class AccountInterestChangedEvent {
+
+    private final Long accountId;
+}
@@ -6,6 +6,7 @@ import com.giantdwarf.modules.study.Study;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -59,6 +60,15 @@ public class Event {
     @Enumerated(EnumType.STRING)
     private EventType eventType;
 
+    //모임 화면 ETag에 쓰는 버전. 참가 신청이 바뀔 때도 올린다. 기존 행이 있어도 컬럼을 더할 수 있도록 DB 기본값을 둔다.
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version = 0L;
+
+    public void increaseVersion() {
+        this.version++;
+    }
+
     public boolean isEnrollableFor(UserAccount userAccount) {
         return isNotClosed() && !isAttended(userAccount) && !isAlreadyEnrolled(userAccount);
     }
@@ -2,10 +2,10 @@ package com.giantdwarf.modules.event;
 
 import com.giantdwarf.modules.account.CurrentUser;
 import com.giantdwarf.modules.account.Account;
+import com.giantdwarf.modules.account.PageETagSupport;
 import com.giantdwarf.modules.study.Study;
 import com.giantdwarf.modules.event.form.EventForm;
 import com.giantdwarf.modules.event.validator.EventValidator;
-import com.giantdwarf.modules.study.StudyRepository;
 import com.giantdwarf.modules.study.StudyService;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
@@ -14,6 +14,7 @@ import org.springframework.ui.Model;
 import org.springframework.validation.Errors;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import javax.validation.Valid;
 import java.time.LocalDateTime;
@@ -30,8 +31,8 @@ public class EventController {
     private final ModelMapper modelMapper;
     private final EventValidator eventValidator;
     private final EventRepository eventRepository;
-    private final StudyRepository studyRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final PageETagSupport pageETagSupport;
 
     @InitBinder("eventForm")
     public void initBinder(WebDataBinder webDataBinder) {
@@ -63,18 +64,24 @@ public class EventController {
     }
 
     @GetMapping("events/{id}")
-    public String getEvent(@CurrentUser Account account, @PathVariable String path, @PathVariable("id") Event event, Model model) {
+    public String getEvent(@CurrentUser Account account, @PathVariable String path, @PathVariable Long id, Model model,
+                           ServletWebRequest webRequest) {
+        if (pageETagSupport.checkNotModified(webRequest, account, eventRepository.findPageVersionById(id, account))) {
+            return null;
+        }
+        Event event = eventService.getEvent(id);
         model.addAttribute(account);
         model.addAttribute(event);
-        model.addAttribute(studyRepository.findStudyWithManagersByPath(path));
+        model.addAttribute(studyService.getStudyWithManagers(path));
         return "event/view";
     }
 
     @GetMapping("/events")
     public String viewStudyEvents(@CurrentUser Account account, @PathVariable String path, Model model) {
-        Study study = studyService.getStudy(path);
+        Study study = studyService.getStudyToView(path);
         model.addAttribute(account);
         model.addAttribute(study);
+        model.addAttribute(studyService.getStudyViewer(study, account));
 
         List<Event> events = eventRepository.findByStudyOrderByStartDateTime(study);
         List<Event> newEvents = new ArrayList<>();
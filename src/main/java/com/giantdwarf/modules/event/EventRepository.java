@@ -8,7 +8,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Transactional(readOnly = true)
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, EventRepositoryExtension {
 
     @EntityGraph(value = "Event.withEnrollments", type = EntityGraph.EntityGraphType.LOAD)
     List<Event> findByStudyOrderByStartDateTime(Study study);
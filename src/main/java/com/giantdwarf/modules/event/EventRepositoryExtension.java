@@ -0,0 +1,10 @@
+package com.giantdwarf.modules.event;
+
+import com.giantdwarf.modules.account.Account;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional(readOnly = true)
+public interface EventRepositoryExtension {
+
+    String findPageVersionById(Long id, Account viewer);
+}
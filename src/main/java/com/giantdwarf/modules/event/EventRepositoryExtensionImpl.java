@@ -0,0 +1,38 @@
+package com.giantdwarf.modules.event;
+
+import com.giantdwarf.modules.account.Account;
+import com.giantdwarf.modules.account.PageETagSupport;
+import com.giantdwarf.modules.study.QStudy;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+public class EventRepositoryExtensionImpl extends QuerydslRepositorySupport implements EventRepositoryExtension {
+
+    public EventRepositoryExtensionImpl() {
+        super(Event.class);
+    }
+
+    /**
+     * 모임 화면은 모임과 스터디 정보, 그리고 신청 마감 여부(현재 시각 기준)에 따라 달라지므로 셋을 한 번에 읽어 합친다.
+     * 보는 사람의 계정 버전도 같은 쿼리에서 읽는다.
+     */
+    @Override
+    public String findPageVersionById(Long id, Account viewer) {
+        QEvent event = QEvent.event;
+        QStudy study = QStudy.study;
+        Expression<Long> viewerVersion = PageETagSupport.viewerVersion(viewer);
+        Tuple row = from(event).innerJoin(event.study, study)
+                .select(event.version, study.version, event.endEnrollmentDateTime, viewerVersion)
+                .where(event.id.eq(id))
+                .fetchOne();
+        if (Objects.isNull(row)) {
+            return null;
+        }
+        boolean enrollmentOpen = row.get(event.endEnrollmentDateTime).isAfter(LocalDateTime.now());
+        return row.get(event.version) + ":" + row.get(study.version) + ":" + enrollmentOpen + ":" + row.get(viewerVersion);
+    }
+}
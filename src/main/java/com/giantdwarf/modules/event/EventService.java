@@ -32,9 +32,15 @@ public class EventService {
         return eventRepository.save(event);
     }
 
+    public Event getEvent(Long id) {
+        return eventRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException(id + "에 해당하는 모임이 없습니다."));
+    }
+
     public void updateEvent(Event event, EventForm eventForm) {
         modelMapper.map(eventForm, event);
         event.acceptWaitingList();
+        event.increaseVersion();
         eventPublisher.publishEvent(new StudyUpdateEvent(event.getStudy(), "'" + event.getTitle() + "' 모임 정보를 수정했으니 확인하세요."));
     }
 
@@ -50,6 +56,7 @@ public class EventService {
             enrollment.setAccepted(event.isAbleToAcceptWaitingEnrollment());
             enrollment.setAccount(account);
             event.addEnrollment(enrollment);
+            event.increaseVersion();
             enrollmentRepository.save(enrollment);
 
         }
@@ -61,24 +68,29 @@ public class EventService {
             event.removeEnrollment(enrollment);
             enrollmentRepository.delete(enrollment);
             event.acceptNextWaitingEnrollment();
+            event.increaseVersion();
         }
     }
 
     public void acceptEnrollment(Event event, Enrollment enrollment) {
         event.accept(enrollment);
+        event.increaseVersion();
         eventPublisher.publishEvent(new EnrollmentAcceptedEvent(enrollment));
     }
 
     public void rejectEnrollment(Event event, Enrollment enrollment) {
         event.reject(enrollment);
+        event.increaseVersion();
         eventPublisher.publishEvent(new EnrollmentRejectedEvent(enrollment));
     }
 
     public void checkInEnrollment(Enrollment enrollment) {
         enrollment.setAttended(true);
+        enrollment.getEvent().increaseVersion();
     }
 
     public void cancelCheckInEnrollment(Enrollment enrollment) {
         enrollment.setAttended(false);
+        enrollment.getEvent().increaseVersion();
     }
 }
@@ -0,0 +1,24 @@
+package com.giantdwarf.modules.main;
+
+import com.giantdwarf.modules.account.Account;
+import com.giantdwarf.modules.event.Enrollment;
+import com.giantdwarf.modules.study.StudyCard;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class Dashboard {
+
+    private final Account account;
+
+    private final List<Enrollment> enrollmentList;
+
+    private final List<StudyCard> studyList;
+
+    private final List<StudyCard> studyManagerOf;
+
+    private final List<StudyCard> studyMemberOf;
+}
@@ -0,0 +1,119 @@
+package com.giantdwarf.modules.main;
+
+import com.giantdwarf.modules.account.Account;
+import com.giantdwarf.modules.account.AccountRepository;
+import com.giantdwarf.modules.event.Enrollment;
+import com.giantdwarf.modules.event.EnrollmentRepository;
+import com.giantdwarf.modules.study.StudyCard;
+import com.giantdwarf.modules.study.StudyRepository;
+import com.giantdwarf.modules.study.recommendation.StudyRecommendationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 로그인 후 첫 화면의 다섯 섹션을 별도 스레드에서 동시에 조회한다.
+ * 섹션마다 제한 시간을 두고, 시간을 넘기거나 실패하거나 executor가 거절한 섹션은 빈 값으로 그려서 페이지 전체가 실패하지 않게 한다.
+ * 시간을 넘긴 섹션은 취소해서 큐에 남아 있으면 실행하지 않고, 실행 중이면 인터럽트한다.
+ * 섹션별 조회 시간은 dashboard.section 타이머로, 빈 값으로 대체된 횟수는 dashboard.section.fallback 카운터로 남긴다.
+ */
+@Slf4j
+@Service
+public class DashboardService {
+
+    static final Duration SECTION_TIMEOUT = Duration.ofSeconds(1);
+
+    private final AccountRepository accountRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final StudyRepository studyRepository;
+    private final StudyRecommendationService studyRecommendationService;
+    private final ThreadPoolTaskExecutor dashboardExecutor;
+    private final MeterRegistry meterRegistry;
+
+    public DashboardService(AccountRepository accountRepository, EnrollmentRepository enrollmentRepository,
+                            StudyRepository studyRepository, StudyRecommendationService studyRecommendationService,
+                            @Qualifier("dashboardExecutor") ThreadPoolTaskExecutor dashboardExecutor,
+                            MeterRegistry meterRegistry) {
+        this.accountRepository = accountRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.studyRepository = studyRepository;
+        this.studyRecommendationService = studyRecommendationService;
+        this.dashboardExecutor = dashboardExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 각 섹션은 자기 트랜잭션 안에서 템플릿에 필요한 값을 모두 읽어 와야 한다.
+     * 다른 스레드에서 읽은 엔티티는 요청의 영속성 컨텍스트 밖에 있으므로 지연 로딩에 기대면 안 된다.
+     */
+    public Dashboard assemble(Account account) {
+        CompletableFuture<Account> accountLoaded = section("account",
+                () -> accountRepository.findAccountWithTagsAndZonesById(account.getId()), () -> withoutInterests(account));
+        CompletableFuture<List<Enrollment>> enrollmentList = section("enrollments",
+                () -> enrollmentRepository.findByAccountAndAcceptedOrderByEnrolledAtDesc(account, true), Collections::emptyList);
+        CompletableFuture<List<StudyCard>> studyList = section("recommendations",
+                () -> studyRecommendationService.getRecommendations(account), Collections::emptyList);
+        CompletableFuture<List<StudyCard>> studyManagerOf = section("managed",
+                () -> studyRepository.findByManager(account, 5), Collections::emptyList);
+        CompletableFuture<List<StudyCard>> studyMemberOf = section("joined",
+                () -> studyRepository.findByMember(account, 5), Collections::emptyList);
+
+        return new Dashboard(accountLoaded.join(), enrollmentList.join(), studyList.join(),
+                studyManagerOf.join(), studyMemberOf.join());
+    }
+
+    private <T> CompletableFuture<T> section(String name, Supplier<T> loader, Supplier<T> fallback) {
+        Timer timer = Timer.builder("dashboard.section").tag("section", name).register(meterRegistry);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = dashboardExecutor.submit(() -> {
+                try {
+                    result.complete(timer.record(loader));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.completedFuture(fallback(name, "rejected", e, fallback));
+        }
+        return result.orTimeout(SECTION_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    boolean timedOut = e instanceof TimeoutException || e.getCause() instanceof TimeoutException;
+                    if (timedOut) {
+                        task.cancel(true);
+                    }
+                    return fallback(name, timedOut ? "timeout" : "error", e, fallback);
+                });
+    }
+
+    private <T> T fallback(String name, String reason, Throwable e, Supplier<T> fallback) {
+        log.warn("dashboard section {} fell back to empty ({})", name, reason, e);
+        meterRegistry.counter("dashboard.section.fallback", "section", name, "reason", reason).increment();
+        return fallback.get();
+    }
+
+    //관심 태그, 지역을 읽지 못했을 때 템플릿이 쓰는 계정 정보만 옮긴 사본. 태그와 지역은 빈 값으로 보여준다.
+    private Account withoutInterests(Account account) {
+        Account copy = new Account();
+        copy.setId(account.getId());
+        copy.setNickname(account.getNickname());
+        copy.setEmail(account.getEmail());
+        copy.setEmailVerified(account.isEmailVerified());
+        copy.setProfileImage(account.getProfileImage());
+        return copy;
+    }
+}
@@ -0,0 +1,95 @@
+package com.giantdwarf.modules.main;
+
+import com.giantdwarf.modules.study.event.StudyChangedEvent;
+import com.giantdwarf.modules.study.event.StudyMemberCountChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 로그인하지 않은 사용자가 보는 첫 화면을 그린 결과를 그대로 보관한다.
+ * 첫 화면의 스터디 목록은 스터디가 공개, 종료되거나 카드에 보이는 값이 바뀔 때만 달라지므로
+ * StudyChangedEvent나 카드의 멤버 수를 바꾸는 StudyMemberCountChangedEvent가 커밋된 뒤에 비우고, 다음 요청에서 다시 그린다.
+ */
+@Component
+public class HomePageCache implements MeterBinder {
+
+    private final AtomicReference<Page> page = new AtomicReference<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong();
+
+    public Page get() {
+        Page cached = page.get();
+        if (Objects.isNull(cached)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return cached;
+    }
+
+    /**
+     * 그리기 시작한 뒤에 무효화가 있었다면 바뀌기 전 목록일 수 있으므로 저장하지 않는다.
+     */
+    public synchronized void put(long startGeneration, Page rendered) {
+        if (startGeneration == generation.get()) {
+            page.set(rendered);
+        }
+    }
+
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    public synchronized void invalidate() {
+        generation.incrementAndGet();
+        if (!Objects.isNull(page.getAndSet(null))) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    @TransactionalEventListener
+    public void handleStudyChangedEvent(StudyChangedEvent studyChangedEvent) {
+        invalidate();
+    }
+
+    @TransactionalEventListener
+    public void handleStudyMemberCountChangedEvent(StudyMemberCountChangedEvent studyMemberCountChangedEvent) {
+        invalidate();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("home.page.cache.hits", hits, AtomicLong::get).register(registry);
+        FunctionCounter.builder("home.page.cache.misses", misses, AtomicLong::get).register(registry);
+        FunctionCounter.builder("home.page.cache.invalidations", invalidations, AtomicLong::get).register(registry);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Page {
+
+        private final String contentType;
+
+        private final byte[] body;
+    }
+}
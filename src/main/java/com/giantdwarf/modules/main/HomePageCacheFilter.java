@@ -0,0 +1,62 @@
+package com.giantdwarf.modules.main;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * 로그인하지 않은 사용자의 GET / 요청은 HomePageCache에 그려 둔 화면으로 응답한다.
+ * 스프링 시큐리티 필터 다음에 실행되므로 인증 여부를 알 수 있고, 로그인한 사용자는 그대로 컨트롤러로 보낸다.
+ */
+@Component
+@RequiredArgsConstructor
+public class HomePageCacheFilter extends OncePerRequestFilter {
+
+    private final HomePageCache homePageCache;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || !"/".equals(request.getRequestURI().substring(request.getContextPath().length()))
+                || !Objects.isNull(request.getQueryString())
+                || isAuthenticated(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        HomePageCache.Page cached = homePageCache.get();
+        if (!Objects.isNull(cached)) {
+            response.setContentType(cached.getContentType());
+            response.setContentLength(cached.getBody().length);
+            response.getOutputStream().write(cached.getBody());
+            return;
+        }
+
+        long startGeneration = homePageCache.currentGeneration();
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+        if (responseWrapper.getStatus() == HttpServletResponse.SC_OK) {
+            homePageCache.put(startGeneration, new HomePageCache.Page(responseWrapper.getContentType(),
+                    responseWrapper.getContentAsByteArray()));
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private boolean isAuthenticated(Authentication authentication) {
+        return !Objects.isNull(authentication) && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+    }
+}
@@ -1,11 +1,14 @@
 package com.giantdwarf.modules.main;
 
 import com.giantdwarf.modules.account.Account;
-import com.giantdwarf.modules.account.AccountRepository;
 import com.giantdwarf.modules.account.CurrentUser;
-import com.giantdwarf.modules.event.EnrollmentRepository;
-import com.giantdwarf.modules.study.Study;
+import com.giantdwarf.modules.study.StudyCard;
 import com.giantdwarf.modules.study.StudyRepository;
+import com.giantdwarf.modules.study.search.StudyCursor;
+import com.giantdwarf.modules.study.search.StudySearchFilter;
+import com.giantdwarf.modules.study.search.StudySearchService;
+import com.giantdwarf.modules.study.search.StudySlice;
+import com.giantdwarf.modules.study.search.StudySuggestionIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -14,7 +17,10 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 
+import java.util.List;
 import java.util.Objects;
 
 @Controller
@@ -22,26 +28,23 @@ import java.util.Objects;
 public class MainController {
 
     private final StudyRepository studyRepository;
-    private final AccountRepository accountRepository;
-    private final EnrollmentRepository enrollmentRepository;
+    private final StudySearchService studySearchService;
+    private final StudySuggestionIndex studySuggestionIndex;
+    private final DashboardService dashboardService;
 
     @GetMapping("/")
     public String home(@CurrentUser Account account, Model model) {
         if (!Objects.isNull(account)) {
-            Account accountLoaded = accountRepository.findAccountWithTagsAndZonesById(account.getId());
-            model.addAttribute(accountLoaded);
-            model.addAttribute("enrollmentList", enrollmentRepository.findByAccountAndAcceptedOrderByEnrolledAtDesc(accountLoaded, true));
-            model.addAttribute("studyList", studyRepository.findByAccount(
-                    accountLoaded.getTags(),
-                    accountLoaded.getZones()));
-            model.addAttribute("studyManagerOf",
-                    studyRepository.findFirst5ByManagersContainingAndClosedOrderByPublishedDateTimeDesc(account, false));
-            model.addAttribute("studyMemberOf",
-                    studyRepository.findFirst5ByMembersContainingAndClosedOrderByPublishedDateTimeDesc(account, false));
+            Dashboard dashboard = dashboardService.assemble(account);
+            model.addAttribute(dashboard.getAccount());
+            model.addAttribute("enrollmentList", dashboard.getEnrollmentList());
+            model.addAttribute("studyList", dashboard.getStudyList());
+            model.addAttribute("studyManagerOf", dashboard.getStudyManagerOf());
+            model.addAttribute("studyMemberOf", dashboard.getStudyMemberOf());
             return "index-after-login";
 
         }
-        model.addAttribute("studyList", studyRepository.findFirst9ByPublishedAndClosedOrderByPublishedDateTimeDesc(true, false));
+        model.addAttribute("studyList", studyRepository.findRecentlyPublished(9));
         return "index";
     }
 
@@ -52,12 +55,36 @@ public class MainController {
 
     @GetMapping("/search/study")
     public String searchStudy(@PageableDefault(size = 9, sort = "publishedDateTime", direction = Sort.Direction.DESC) Pageable pageable,
-                              String keyword, Model model) {
-        Page<Study> studyPage = studyRepository.findByKeyword(keyword, pageable);
-        model.addAttribute("studyPage", studyPage);
+                              String keyword, Integer page, String cursor, StudySearchFilter studySearchFilter, Model model) {
+        String sortProperty = pageable.getSort().toString().contains("publishedDateTime") ? "publishedDateTime" : "memberCount";
         model.addAttribute("keyword", keyword);
-        model.addAttribute("sortProperty",
-                pageable.getSort().toString().contains("publishedDateTime") ? "publishedDateTime" : "memberCount");
+        model.addAttribute("studyFacets", studySearchService.getFacets(keyword, studySearchFilter));
+
+        if (!Objects.isNull(pageable.getSort().getOrderFor(StudySearchService.RELEVANCE))) {
+            model.addAttribute("studyPage", studySearchService.searchByRelevance(keyword, studySearchFilter, pageable));
+            model.addAttribute("sortProperty", StudySearchService.RELEVANCE);
+            return "search";
+        }
+
+        //page 파라미터가 없으면 커서 기반으로 조회해서 count 쿼리 없이 다음 페이지만 확인한다.
+        if (Objects.isNull(page)) {
+            StudySlice studySlice = studySearchService.searchByCursor(keyword, studySearchFilter,
+                    StudyCursor.decode(cursor, sortProperty), pageable.getPageSize());
+            model.addAttribute("studySlice", studySlice);
+            model.addAttribute("sortProperty", studySlice.getSortProperty());
+            return "search";
+        }
+
+        Page<StudyCard> studyPage = studySearchService.search(keyword, studySearchFilter, pageable);
+        model.addAttribute("studyPage", studyPage);
+        model.addAttribute("sortProperty", sortProperty);
         return "search";
     }
+
+    //검색창 자동완성. 키 입력마다 호출되므로 DB를 거치지 않고 메모리 색인에서만 찾는다.
+    @GetMapping("/search/study/suggestions")
+    @ResponseBody
+    public List<String> suggestStudy(String keyword, @RequestParam(defaultValue = "10") int size) {
+        return studySuggestionIndex.suggest(keyword, Math.min(size, 20));
+    }
 }
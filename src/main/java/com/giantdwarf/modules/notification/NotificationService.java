@@ -1,5 +1,6 @@
 package com.giantdwarf.modules.notification;
 
+import com.giantdwarf.modules.account.Account;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,5 +16,9 @@ public class NotificationService {
     public void markAsRead(List<Notification> notifications) {
         notifications.forEach(notification -> notification.setChecked(true));
         notificationRepository.saveAll(notifications);
+        notifications.stream()
+                .map(Notification::getAccount)
+                .distinct()
+                .forEach(Account::increaseVersion);
     }
 }
@@ -1,10 +1,17 @@
 package com.giantdwarf.modules.study;
 
+import com.giantdwarf.infra.blob.ImageStore;
+import com.giantdwarf.infra.blob.ImageVariant;
 import com.giantdwarf.modules.account.Account;
 import com.giantdwarf.modules.account.UserAccount;
 import com.giantdwarf.modules.tag.Tag;
 import com.giantdwarf.modules.zone.Zone;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.WhereJoinTable;
 
 import javax.persistence.*;
 import java.net.URLEncoder;
@@ -13,19 +20,33 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
+//managers, members는 StudyMembership을 직접 바꾸므로 캐시하지 않는다.
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter @Setter
 @EqualsAndHashCode
 @AllArgsConstructor @NoArgsConstructor
+@Table(indexes = {
+        @Index(columnList = "publishedDateTime, id"),
+        @Index(columnList = "memberCount, id")
+})
 public class Study {
 
     @Id @GeneratedValue
     private Long id;
 
+    //StudyMembership 테이블을 역할별로 읽기만 한다. 관리자, 멤버 추가와 삭제는 StudyMembership으로 한다.
+    @Immutable
     @ManyToMany
+    @JoinTable(name = "study_membership", joinColumns = @JoinColumn(name = "study_id"), inverseJoinColumns = @JoinColumn(name = "account_id"))
+    @WhereJoinTable(clause = "role = 'MANAGER'")
     private Set<Account> managers = new HashSet<>();
 
+    @Immutable
     @ManyToMany
+    @JoinTable(name = "study_membership", joinColumns = @JoinColumn(name = "study_id"), inverseJoinColumns = @JoinColumn(name = "account_id"))
+    @WhereJoinTable(clause = "role = 'MEMBER'")
     private Set<Account> members = new HashSet<>();
 
     @Column(unique = true)
@@ -38,13 +59,15 @@ public class Study {
     @Lob @Basic(fetch = FetchType.EAGER)
     private String fullDescription;
 
-    @Lob @Basic(fetch = FetchType.EAGER)
+    //이미지는 BlobStore에 두고 URL만 저장한다.
     private String image;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<Tag> tags = new HashSet<>();
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<Zone> zones = new HashSet<>();
 
     private LocalDateTime publishedDateTime;
@@ -64,8 +87,14 @@ public class Study {
 
     private int memberCount;
 
-    public void addManager(Account account) {
-        this.managers.add(account);
+    //화면 ETag를 만들 때 쓰는 버전. 낙관적 락이 아니므로 @Version 대신 변경할 때마다 직접 올린다.
+    //데이터가 있는 테이블에 ddl-auto: update로 컬럼을 더해도 기존 행이 0이 되도록 DB 기본값을 둔다.
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version = 0L;
+
+    public void increaseVersion() {
+        this.version++;
     }
 
     public boolean isJoinable(UserAccount userAccount) {
@@ -81,8 +110,13 @@ public class Study {
         return this.managers.contains(userAccount.getAccount());
     }
 
+    //옮기기 전의 Lob 값처럼 읽을 수 없는 값이면 기본 배너를 보여준다.
     public String getImage() {
-        return image != null ? image : "/images/default_banner.png";
+        return ImageStore.isImageUrl(image) ? image : "/images/default_banner.png";
+    }
+
+    public String getBannerUrl() {
+        return ImageVariant.BANNER.urlOf(getImage());
     }
 
     public void publish() {
@@ -129,16 +163,6 @@ public class Study {
         return !this.published; //공개된 모임은 삭제할 수 없다.
     }
 
-    public void addMember(Account account) {
-        this.members.add(account);
-        this.memberCount++;
-    }
-
-    public void removeMember(Account account) {
-        this.getMembers().remove(account);
-        this.memberCount--;
-    }
-
     public String getEncodedPath() {
         return URLEncoder.encode(this.path, StandardCharsets.UTF_8);
     }
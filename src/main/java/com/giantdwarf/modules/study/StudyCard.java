@@ -0,0 +1,53 @@
+package com.giantdwarf.modules.study;
+
+import com.giantdwarf.infra.blob.ImageStore;
+import com.giantdwarf.infra.blob.ImageVariant;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 스터디 목록 카드에 보여줄 값만 담은 읽기 전용 모델.
+ * fullDescription 같은 Lob 컬럼을 읽지 않는다. 배너 이미지는 BlobStore URL만 읽고 카드 크기 변형으로 보여준다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class StudyCard {
+
+    private static final String DEFAULT_BANNER_URL = "/images/default_banner.png";
+
+    private final Long id;
+
+    private final String path;
+
+    private final String title;
+
+    private final String shortDescription;
+
+    private final int memberCount;
+
+    private final LocalDateTime publishedDateTime;
+
+    private final String image;
+
+    private final List<String> tagTitles = new ArrayList<>();
+
+    private final List<ZoneName> zones = new ArrayList<>();
+
+    public String getBannerUrl() {
+        return ImageStore.isImageUrl(image) ? ImageVariant.CARD.urlOf(image) : DEFAULT_BANNER_URL;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ZoneName {
+
+        private Long id;
+
+        private String localNameOfCity;
+    }
+}
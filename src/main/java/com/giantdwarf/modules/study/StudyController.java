@@ -2,6 +2,7 @@ package com.giantdwarf.modules.study;
 
 import com.giantdwarf.modules.account.CurrentUser;
 import com.giantdwarf.modules.account.Account;
+import com.giantdwarf.modules.account.PageETagSupport;
 import com.giantdwarf.modules.study.form.StudyForm;
 import com.giantdwarf.modules.study.validator.StudyFormValidator;
 import lombok.RequiredArgsConstructor;
@@ -14,10 +15,13 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import javax.validation.Valid;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 @Controller
 @RequiredArgsConstructor
@@ -27,6 +31,7 @@ public class StudyController {
     private final ModelMapper modelMapper;
     private final StudyFormValidator studyFormValidator;
     private final StudyRepository studyRepository;
+    private final PageETagSupport pageETagSupport;
 
     @InitBinder("studyForm")
     public void studyFormInitBinder(WebDataBinder webDataBinder) {
@@ -51,33 +56,42 @@ public class StudyController {
     }
 
     @GetMapping("/study/{path}")
-    public String viewStudy(@CurrentUser Account account, @PathVariable String path, Model model) {
-        Study study = studyService.getStudy(path);
+    public String viewStudy(@CurrentUser Account account, @PathVariable String path, Model model, ServletWebRequest webRequest) {
+        if (pageETagSupport.checkNotModified(webRequest, account, studyRepository.findPageVersionByPath(path, account))) {
+            return null;
+        }
+        Study study = studyService.getStudyToView(path);
         model.addAttribute(account);
         model.addAttribute(study);
+        model.addAttribute(studyService.getStudyViewer(study, account));
         return "study/view";
     }
 
     @GetMapping("/study/{path}/members")
-    public String viewStudyMembers(@CurrentUser Account account, @PathVariable String path, Model model) {
-        Study study = studyService.getStudy(path);
+    public String viewStudyMembers(@CurrentUser Account account, @PathVariable String path,
+                                   @RequestParam(required = false) String cursor, Model model) {
+        Study study = studyService.getStudyToView(path);
+        StudyMemberSlice studyMemberSlice = studyService.getStudyMembers(study, cursor);
         model.addAttribute(account);
         model.addAttribute(study);
+        model.addAttribute(studyService.getStudyViewer(study, account));
+        //관리자는 첫 페이지에만 보여준다.
+        model.addAttribute("managers", studyMemberSlice.isFirst() ? studyService.getStudyManagers(study) : List.of());
+        model.addAttribute(studyMemberSlice);
         return "study/members";
     }
 
     @GetMapping("/study/{path}/join")
     public String joinStudy(@CurrentUser Account account, @PathVariable String path) {
-        Study study = studyRepository.findStudyWithMembersByPath(path);
+        Study study = studyService.getStudyToEnroll(path);
         studyService.addMember(study, account);
         return "redirect:/study/" + study.getEncodedPath() + "/members";
     }
 
     @GetMapping("/study/{path}/leave")
     public String leaveStudy(@CurrentUser Account account, @PathVariable String path) {
-        Study study = studyRepository.findStudyWithMembersByPath(path);
+        Study study = studyService.getStudyToEnroll(path);
         studyService.removeMember(study, account);
         return "redirect:/study/" + study.getEncodedPath() + "/members";
     }
-
 }
@@ -0,0 +1,33 @@
+package com.giantdwarf.modules.study;
+
+import com.giantdwarf.infra.blob.ImageStore;
+import com.giantdwarf.infra.blob.ImageVariant;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 멤버 목록에 보여줄 값만 담은 읽기 전용 모델.
+ * 프로필 이미지는 BlobStore URL만 읽고, 목록의 64px 자리에 맞는 아바타 변형으로 보여준다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class StudyMemberCard {
+
+    private final Long accountId;
+
+    private final String nickname;
+
+    private final String bio;
+
+    private final StudyRole role;
+
+    private final LocalDateTime joinedAt;
+
+    private final String profileImage;
+
+    public String getAvatarUrl() {
+        return ImageStore.isImageUrl(profileImage) ? ImageVariant.AVATAR_128.urlOf(profileImage) : null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.giantdwarf.modules.study;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * 가입일, 계정 id 순으로 정렬한 멤버 목록에서 다음 페이지의 시작 위치를 가리키는 커서.
+ * offset 대신 마지막 멤버의 (가입일, 계정 id) 다음부터 읽으므로 멤버가 많아도 뒤 페이지가 느려지지 않는다.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class StudyMemberCursor {
+
+    private static final String DELIMITER = "|";
+
+    private static final StudyMemberCursor FIRST = new StudyMemberCursor(null, null);
+
+    private final LocalDateTime joinedAt;
+
+    private final Long accountId;
+
+    public static StudyMemberCursor first() {
+        return FIRST;
+    }
+
+    public static StudyMemberCursor after(StudyMemberCard member) {
+        return new StudyMemberCursor(member.getJoinedAt(), member.getAccountId());
+    }
+
+    public static StudyMemberCursor decode(String encoded) {
+        if (Objects.isNull(encoded) || encoded.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            String[] split = decoded.split("\\" + DELIMITER);
+            return new StudyMemberCursor(LocalDateTime.parse(split[0]), Long.valueOf(split[1]));
+        } catch (RuntimeException e) {
+            //잘못된 커서는 첫 페이지로 취급한다.
+            return FIRST;
+        }
+    }
+
+    public String encode() {
+        String raw = String.join(DELIMITER, String.valueOf(joinedAt), String.valueOf(accountId));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isFirst() {
+        return Objects.isNull(accountId);
+    }
+}
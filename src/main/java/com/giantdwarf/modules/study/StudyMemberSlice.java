@@ -0,0 +1,33 @@
+package com.giantdwarf.modules.study;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Objects;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class StudyMemberSlice {
+
+    private final List<StudyMemberCard> content;
+
+    private final boolean first;
+
+    private final String nextCursor;
+
+    /**
+     * size + 1개를 조회한 결과에서 한 페이지를 잘라내고, 더 있으면 다음 커서를 만든다.
+     */
+    public static StudyMemberSlice of(List<StudyMemberCard> members, StudyMemberCursor cursor, int size) {
+        boolean hasNext = members.size() > size;
+        List<StudyMemberCard> content = hasNext ? members.subList(0, size) : members;
+        String nextCursor = hasNext ? StudyMemberCursor.after(content.get(content.size() - 1)).encode() : null;
+        return new StudyMemberSlice(content, cursor.isFirst(), nextCursor);
+    }
+
+    public boolean hasNext() {
+        return !Objects.isNull(nextCursor);
+    }
+}
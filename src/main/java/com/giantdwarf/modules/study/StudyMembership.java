@@ -0,0 +1,69 @@
+package com.giantdwarf.modules.study;
+
+import com.giantdwarf.modules.account.Account;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 스터디 관리자와 멤버. (스터디, 계정) 쌍이 기본 키라서 한 계정은 한 스터디에 한 번만 들어간다.
+ * Study.managers, Study.members는 이 테이블을 역할별로 읽기만 하고, 가입과 탈퇴는 이 엔티티를 한 건씩 넣고 지운다.
+ */
+@Entity
+@Getter
+@EqualsAndHashCode(of = "id")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = {
+        @Index(columnList = "account_id, role"),
+        @Index(columnList = "study_id, role, joinedAt, account_id")
+})
+public class StudyMembership implements Persistable<StudyMembershipId> {
+
+    @EmbeddedId
+    private StudyMembershipId id;
+
+    @MapsId("studyId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Study study;
+
+    @MapsId("accountId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Account account;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StudyRole role;
+
+    @Column(nullable = false)
+    private LocalDateTime joinedAt;
+
+    //id를 직접 채우므로 save()가 merge(select 후 insert) 대신 persist(insert 한 번)를 하도록 새 엔티티임을 알려준다.
+    @Transient
+    private boolean isNew = true;
+
+    public static StudyMembership of(Study study, Account account, StudyRole role) {
+        StudyMembership membership = new StudyMembership();
+        membership.id = new StudyMembershipId(study.getId(), account.getId());
+        membership.study = study;
+        membership.account = account;
+        membership.role = role;
+        membership.joinedAt = LocalDateTime.now();
+        return membership;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,20 @@
+package com.giantdwarf.modules.study;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor @NoArgsConstructor
+public class StudyMembershipId implements Serializable {
+
+    private Long studyId;
+
+    private Long accountId;
+}
@@ -0,0 +1,196 @@
+package com.giantdwarf.modules.study;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 스터디별 관리자, 멤버 계정 id와 계정별 스터디 id를 정렬된 long 배열로 들고 있는 메모리 색인.
+ * 읽기는 잠금 없이 이진 탐색으로 하고, 쓰기는 synchronized 안에서 배열을 새로 만들어 바꿔 끼운다.
+ * 가입, 탈퇴는 커밋된 뒤에 StudyMembershipIndexer가 반영하고, 시작할 때 DB에서 다시 만든다. 준비되기 전에는 호출하는 쪽이 DB를 본다.
+ */
+@Component
+public class StudyMembershipIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    private volatile Map<Long, long[]> managersByStudy = new ConcurrentHashMap<>();
+
+    private volatile Map<Long, long[]> membersByStudy = new ConcurrentHashMap<>();
+
+    private volatile Map<Long, long[]> studiesByAccount = new ConcurrentHashMap<>();
+
+    //다시 만드는 중에 들어온 변경. 새 색인으로 바꾼 뒤에 다시 적용한다. 적용은 여러 번 해도 결과가 같다.
+    private List<Runnable> pending;
+
+    private volatile boolean ready;
+
+    public StudyRole roleOf(Long studyId, Long accountId) {
+        if (contains(managersByStudy.get(studyId), accountId)) {
+            return StudyRole.MANAGER;
+        }
+        if (contains(membersByStudy.get(studyId), accountId)) {
+            return StudyRole.MEMBER;
+        }
+        return null;
+    }
+
+    public boolean isManager(Long studyId, Long accountId) {
+        return contains(managersByStudy.get(studyId), accountId);
+    }
+
+    public boolean isMember(Long studyId, Long accountId) {
+        return contains(membersByStudy.get(studyId), accountId);
+    }
+
+    /**
+     * 두 계정이 관리자나 멤버로 함께 있는 스터디 id. 정렬된 두 배열을 한 번씩만 훑는다.
+     */
+    public long[] sharedStudyIds(Long accountId, Long otherAccountId) {
+        long[] studies = studiesByAccount.getOrDefault(accountId, EMPTY);
+        long[] otherStudies = studiesByAccount.getOrDefault(otherAccountId, EMPTY);
+        long[] shared = new long[Math.min(studies.length, otherStudies.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < studies.length && j < otherStudies.length; ) {
+            if (studies[i] < otherStudies[j]) {
+                i++;
+            } else if (studies[i] > otherStudies[j]) {
+                j++;
+            } else {
+                shared[size++] = studies[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(shared, size);
+    }
+
+    public synchronized void add(Long studyId, Long accountId, StudyRole role) {
+        apply(() -> {
+            Map<Long, long[]> byStudy = role == StudyRole.MANAGER ? managersByStudy : membersByStudy;
+            byStudy.compute(studyId, (id, accountIds) -> with(accountIds, accountId));
+            studiesByAccount.compute(accountId, (id, studyIds) -> with(studyIds, studyId));
+        });
+    }
+
+    public synchronized void remove(Long studyId, Long accountId) {
+        apply(() -> {
+            managersByStudy.computeIfPresent(studyId, (id, accountIds) -> without(accountIds, accountId));
+            membersByStudy.computeIfPresent(studyId, (id, accountIds) -> without(accountIds, accountId));
+            studiesByAccount.computeIfPresent(accountId, (id, studyIds) -> without(studyIds, studyId));
+        });
+    }
+
+    public synchronized void removeStudy(Long studyId) {
+        apply(() -> {
+            long[] managers = managersByStudy.remove(studyId);
+            long[] members = membersByStudy.remove(studyId);
+            for (long[] accountIds : Arrays.asList(managers, members)) {
+                if (!Objects.isNull(accountIds)) {
+                    for (long accountId : accountIds) {
+                        studiesByAccount.computeIfPresent(accountId, (id, studyIds) -> without(studyIds, studyId));
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * 다시 만들기를 시작한다. 이후 변경은 지금 색인에 반영하면서 따로 모아 두었다가 finishRebuild에서 새 색인에 다시 적용한다.
+     */
+    public synchronized Rebuild startRebuild() {
+        this.pending = new ArrayList<>();
+        return new Rebuild();
+    }
+
+    public synchronized void finishRebuild(Rebuild rebuild) {
+        List<Runnable> changes = this.pending;
+        this.pending = null;
+        this.managersByStudy = Rebuild.sorted(rebuild.managersByStudy);
+        this.membersByStudy = Rebuild.sorted(rebuild.membersByStudy);
+        this.studiesByAccount = Rebuild.sorted(rebuild.studiesByAccount);
+        if (!Objects.isNull(changes)) {
+            changes.forEach(Runnable::run);
+        }
+        this.ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return managersByStudy.size() + membersByStudy.size();
+    }
+
+    private void apply(Runnable change) {
+        change.run();
+        if (!Objects.isNull(pending)) {
+            pending.add(change);
+        }
+    }
+
+    private static boolean contains(long[] sorted, Long value) {
+        return !Objects.isNull(sorted) && !Objects.isNull(value) && Arrays.binarySearch(sorted, value) >= 0;
+    }
+
+    private static long[] with(long[] sorted, long value) {
+        if (Objects.isNull(sorted)) {
+            return new long[]{value};
+        }
+        int index = Arrays.binarySearch(sorted, value);
+        if (index >= 0) {
+            return sorted;
+        }
+        int insertAt = -index - 1;
+        long[] result = new long[sorted.length + 1];
+        System.arraycopy(sorted, 0, result, 0, insertAt);
+        result[insertAt] = value;
+        System.arraycopy(sorted, insertAt, result, insertAt + 1, sorted.length - insertAt);
+        return result;
+    }
+
+    private static long[] without(long[] sorted, long value) {
+        int index = Arrays.binarySearch(sorted, value);
+        if (index < 0) {
+            return sorted;
+        }
+        if (sorted.length == 1) {
+            return null;
+        }
+        long[] result = new long[sorted.length - 1];
+        System.arraycopy(sorted, 0, result, 0, index);
+        System.arraycopy(sorted, index + 1, result, index, sorted.length - index - 1);
+        return result;
+    }
+
+    /**
+     * DB에서 읽은 멤버십을 모아 새 색인을 만든다. 순서가 섞여 들어와도 finishRebuild에서 정렬한다.
+     */
+    public static class Rebuild {
+
+        private final Map<Long, List<Long>> managersByStudy = new HashMap<>();
+
+        private final Map<Long, List<Long>> membersByStudy = new HashMap<>();
+
+        private final Map<Long, List<Long>> studiesByAccount = new HashMap<>();
+
+        public void add(Long studyId, Long accountId, StudyRole role) {
+            Map<Long, List<Long>> byStudy = role == StudyRole.MANAGER ? managersByStudy : membersByStudy;
+            byStudy.computeIfAbsent(studyId, id -> new ArrayList<>()).add(accountId);
+            studiesByAccount.computeIfAbsent(accountId, id -> new ArrayList<>()).add(studyId);
+        }
+
+        private static Map<Long, long[]> sorted(Map<Long, List<Long>> ids) {
+            Map<Long, long[]> result = new ConcurrentHashMap<>();
+            ids.forEach((key, values) -> result.put(key, values.stream().mapToLong(Long::longValue).sorted().distinct().toArray()));
+            return result;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.giantdwarf.modules.study;
+
+import com.giantdwarf.modules.study.event.StudyMembershipChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudyMembershipIndexer {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private static final String CHANGED_STUDY_IDS = StudyMembershipIndexer.class.getName() + ".changedStudyIds";
+
+    private final StudyMembershipRepository studyMembershipRepository;
+    private final StudyMembershipIndex studyMembershipIndex;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        StudyMembershipIndex.Rebuild rebuild = studyMembershipIndex.startRebuild();
+        List<StudyMembership> batch = studyMembershipRepository.findBatchAfter(null, REBUILD_BATCH_SIZE);
+        while (!batch.isEmpty()) {
+            batch.forEach(membership -> rebuild.add(membership.getId().getStudyId(), membership.getId().getAccountId(), membership.getRole()));
+            batch = studyMembershipRepository.findBatchAfter(batch.get(batch.size() - 1).getId(), REBUILD_BATCH_SIZE);
+        }
+        studyMembershipIndex.finishRebuild(rebuild);
+        log.info("study membership index rebuilt with {} studies", studyMembershipIndex.size());
+    }
+
+    /**
+     * 커밋된 변경만 색인에 반영한다. 커밋 전에 반영하면 다른 요청이 아직 없는 멤버십으로 권한을 확인하게 된다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleStudyMembershipChangedEvent(StudyMembershipChangedEvent event) {
+        Long studyId = event.getStudyId();
+        Long accountId = event.getAccountId();
+        if (Objects.isNull(accountId)) {
+            studyMembershipIndex.removeStudy(studyId);
+        } else if (Objects.isNull(event.getRole())) {
+            studyMembershipIndex.remove(studyId, accountId);
+        } else {
+            studyMembershipIndex.add(studyId, accountId, event.getRole());
+        }
+    }
+
+    /**
+     * 커밋 전까지 색인에 없는 변경을 같은 트랜잭션 안의 확인(스터디를 만든 직후의 관리자 확인 등)이 DB에서 읽도록
+     * 멤버십을 바꾼 스터디 id를 트랜잭션에 묶어 둔다.
+     */
+    @EventListener
+    public void markChangedInTransaction(StudyMembershipChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Set<Long> studyIds = changedStudyIds();
+        if (Objects.isNull(studyIds)) {
+            studyIds = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(CHANGED_STUDY_IDS, studyIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CHANGED_STUDY_IDS);
+                }
+            });
+        }
+        studyIds.add(event.getStudyId());
+    }
+
+    public boolean isChangedInTransaction(Long studyId) {
+        Set<Long> studyIds = changedStudyIds();
+        return !Objects.isNull(studyIds) && studyIds.contains(studyId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Long> changedStudyIds() {
+        return (Set<Long>) TransactionSynchronizationManager.getResource(CHANGED_STUDY_IDS);
+    }
+}
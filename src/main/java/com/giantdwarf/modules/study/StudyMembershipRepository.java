@@ -0,0 +1,15 @@
+package com.giantdwarf.modules.study;
+
+import com.giantdwarf.modules.account.Account;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional(readOnly = true)
+public interface StudyMembershipRepository extends JpaRepository<StudyMembership, StudyMembershipId>, StudyMembershipRepositoryExtension {
+
+    boolean existsByStudyAndAccount(Study study, Account account);
+
+    boolean existsByStudyAndAccountAndRole(Study study, Account account, StudyRole role);
+
+    long countByStudyAndRole(Study study, StudyRole role);
+}
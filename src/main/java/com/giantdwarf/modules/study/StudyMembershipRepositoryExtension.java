@@ -0,0 +1,25 @@
+package com.giantdwarf.modules.study;
+
+import com.giantdwarf.modules.account.Account;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface StudyMembershipRepositoryExtension {
+
+    StudyRole findRole(Study study, Account account);
+
+    List<StudyMembership> findBatchAfter(StudyMembershipId after, int limit);
+
+    List<StudyMemberCard> findMemberCards(Study study, StudyRole role, StudyMemberCursor cursor, int limit);
+
+    @Transactional
+    int insertIfAbsent(Study study, Account account, StudyRole role);
+
+    @Transactional
+    long deleteMembership(Study study, Account account, StudyRole role);
+
+    @Transactional
+    long deleteAllByStudy(Study study);
+}
@@ -0,0 +1,102 @@
+package com.giantdwarf.modules.study;
+
+import com.giantdwarf.modules.account.Account;
+import com.giantdwarf.modules.account.QAccount;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Projections;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+public class StudyMembershipRepositoryExtensionImpl extends QuerydslRepositorySupport implements StudyMembershipRepositoryExtension {
+
+    public StudyMembershipRepositoryExtensionImpl() {
+        super(StudyMembership.class);
+    }
+
+    @Override
+    public StudyRole findRole(Study study, Account account) {
+        QStudyMembership membership = QStudyMembership.studyMembership;
+        return from(membership).select(membership.role)
+                .where(membership.id.studyId.eq(study.getId()), membership.id.accountId.eq(account.getId()))
+                .fetchOne();
+    }
+
+    //(스터디 id, 계정 id) 순으로 after 다음부터 limit개. 처음이면 after에 null을 넘긴다.
+    @Override
+    public List<StudyMembership> findBatchAfter(StudyMembershipId after, int limit) {
+        QStudyMembership membership = QStudyMembership.studyMembership;
+        BooleanBuilder where = new BooleanBuilder();
+        if (!Objects.isNull(after)) {
+            where.and(membership.id.studyId.gt(after.getStudyId())
+                    .or(membership.id.studyId.eq(after.getStudyId()).and(membership.id.accountId.gt(after.getAccountId()))));
+        }
+        return from(membership)
+                .where(where)
+                .orderBy(membership.id.studyId.asc(), membership.id.accountId.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    /**
+     * 가입일, 계정 id 순으로 limit개만 SQL에서 읽는다.
+     */
+    @Override
+    public List<StudyMemberCard> findMemberCards(Study study, StudyRole role, StudyMemberCursor cursor, int limit) {
+        QStudyMembership membership = QStudyMembership.studyMembership;
+        QAccount account = QAccount.account;
+        BooleanBuilder where = new BooleanBuilder(membership.id.studyId.eq(study.getId()).and(membership.role.eq(role)));
+        if (!cursor.isFirst()) {
+            where.and(membership.joinedAt.gt(cursor.getJoinedAt())
+                    .or(membership.joinedAt.eq(cursor.getJoinedAt()).and(membership.id.accountId.gt(cursor.getAccountId()))));
+        }
+        return from(membership)
+                .join(membership.account, account)
+                .select(Projections.constructor(StudyMemberCard.class, account.id, account.nickname, account.bio,
+                        membership.role, membership.joinedAt, account.profileImage))
+                .where(where)
+                .orderBy(membership.joinedAt.asc(), membership.id.accountId.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    /**
+     * 있는지 확인한 뒤 넣으면 같은 계정이 동시에 가입할 때 한쪽이 기본 키에 걸려 트랜잭션이 깨지므로,
+     * 이미 있으면 아무것도 하지 않는 upsert로 넣는다. 새로 넣었으면 1, 이미 있었으면 0.
+     * 네이티브 쿼리는 기본으로 2차 캐시 전체를 비우므로 StudyMembership만 바뀐다고 알려준다.
+     */
+    @Override
+    public int insertIfAbsent(Study study, Account account, StudyRole role) {
+        return getEntityManager()
+                .createNativeQuery("insert into study_membership (study_id, account_id, role, joined_at) " +
+                        "values (:studyId, :accountId, :role, :joinedAt) on conflict do nothing")
+                .setParameter("studyId", study.getId())
+                .setParameter("accountId", account.getId())
+                .setParameter("role", role.name())
+                .setParameter("joinedAt", LocalDateTime.now())
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(StudyMembership.class)
+                .executeUpdate();
+    }
+
+    //엔티티를 읽어서 지우지 않고 기본 키로 한 건만 지운다.
+    @Override
+    public long deleteMembership(Study study, Account account, StudyRole role) {
+        QStudyMembership membership = QStudyMembership.studyMembership;
+        return delete(membership)
+                .where(membership.id.studyId.eq(study.getId()), membership.id.accountId.eq(account.getId()),
+                        membership.role.eq(role))
+                .execute();
+    }
+
+    @Override
+    public long deleteAllByStudy(Study study) {
+        QStudyMembership membership = QStudyMembership.studyMembership;
+        return delete(membership)
+                .where(membership.id.studyId.eq(study.getId()))
+                .execute();
+    }
+}
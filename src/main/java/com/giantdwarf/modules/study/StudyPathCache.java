@@ -0,0 +1,103 @@
+package com.giantdwarf.modules.study;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 스터디 경로를 스터디 id로 바꿔 두는 캐시. 경로로 찾은 뒤에는 id로 읽으므로 엔티티 그래프가 달라도 같은 id를 쓴다.
+ * 경로가 바뀌거나 스터디가 지워지면 StudyService가 비우고, 그 사이에 끼어든 오래된 값은 읽은 스터디의 경로가
+ * 다르면 버리는 것으로 막는다. MAXIMUM_SIZE를 넘으면 가장 오래 읽지 않은 경로부터 버린다.
+ */
+@Component
+public class StudyPathCache implements MeterBinder {
+
+    static final int MAXIMUM_SIZE = 10_000;
+
+    //읽을 때마다 순서가 바뀌므로 모든 접근은 synchronized 안에서 한다.
+    private final Map<String, Long> idByPath = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            if (size() > MAXIMUM_SIZE) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * 없는 경로는 캐시하지 않는다. DB는 잠금 밖에서 읽는다.
+     */
+    public Long resolve(String path, Function<String, Long> loader) {
+        Long id = get(path);
+        if (!Objects.isNull(id)) {
+            hits.incrementAndGet();
+            return id;
+        }
+        misses.incrementAndGet();
+        id = loader.apply(path);
+        if (!Objects.isNull(id)) {
+            put(path, id);
+        }
+        return id;
+    }
+
+    public synchronized void evict(String path) {
+        if (!Objects.isNull(idByPath.remove(path))) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    public synchronized int size() {
+        return idByPath.size();
+    }
+
+    private synchronized Long get(String path) {
+        return idByPath.get(path);
+    }
+
+    private synchronized void put(String path, Long id) {
+        idByPath.put(path, id);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("study.path.cache.hits", hits, AtomicLong::get).register(registry);
+        FunctionCounter.builder("study.path.cache.misses", misses, AtomicLong::get).register(registry);
+        FunctionCounter.builder("study.path.cache.evictions", evictions, AtomicLong::get).register(registry);
+        FunctionCounter.builder("study.path.cache.invalidations", invalidations, AtomicLong::get).register(registry);
+        Gauge.builder("study.path.cache.size", this, StudyPathCache::size).register(registry);
+        Gauge.builder("study.path.cache.hit.ratio", this, StudyPathCache::getHitRatio).register(registry);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public double getHitRatio() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0 : (double) hits.get() / total;
+    }
+}
@@ -1,6 +1,5 @@
 package com.giantdwarf.modules.study;
 
-import com.giantdwarf.modules.account.Account;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,17 +13,17 @@ public interface StudyRepository extends JpaRepository<Study, Long>, StudyReposi
     @EntityGraph(attributePaths = {"tags", "zones", "managers", "members"}, type = EntityGraph.EntityGraphType.LOAD)
     Study findByPath(String path);
 
+    @EntityGraph(attributePaths = {"tags", "zones", "managers", "members"}, type = EntityGraph.EntityGraphType.LOAD)
+    Study findStudyWithAllById(Long id);
+
     @EntityGraph(attributePaths = {"tags", "managers"})
-    Study findStudyWithZonesByPath(String path);
+    Study findStudyWithTagsById(Long id);
 
     @EntityGraph(attributePaths = {"zones", "managers"})
-    Study findStudyWithTagsByPath(String path);
+    Study findStudyWithZonesById(Long id);
 
     @EntityGraph(attributePaths = {"managers"})
-    Study findStudyWithManagersByPath(String path);
-
-    @EntityGraph(attributePaths = {"members"})
-    Study findStudyWithMembersByPath(String path);
+    Study findStudyWithManagersById(Long id);
 
     Study findStudyOnlyByPath(String path);
 
@@ -33,11 +32,4 @@ public interface StudyRepository extends JpaRepository<Study, Long>, StudyReposi
 
     @EntityGraph(attributePaths = {"members", "managers"})
     Study findStudyWithManagersAndMembersById(Long id);
-
-    @EntityGraph(attributePaths = {"zones","tags"})
-    List<Study> findFirst9ByPublishedAndClosedOrderByPublishedDateTimeDesc(boolean published, boolean closed);
-
-    List<Study> findFirst5ByManagersContainingAndClosedOrderByPublishedDateTimeDesc(Account account, boolean closed);
-
-    List<Study> findFirst5ByMembersContainingAndClosedOrderByPublishedDateTimeDesc(Account account, boolean closed);
 }
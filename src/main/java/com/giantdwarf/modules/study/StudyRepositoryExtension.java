@@ -1,18 +1,38 @@
 package com.giantdwarf.modules.study;
 
-import com.giantdwarf.modules.tag.Tag;
-import com.giantdwarf.modules.zone.Zone;
+import com.giantdwarf.modules.account.Account;
+import com.giantdwarf.modules.study.search.StudyCursor;
+import com.giantdwarf.modules.study.search.StudyDocument;
+import com.giantdwarf.modules.study.search.StudySearchFilter;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Set;
 
 @Transactional(readOnly = true)
 public interface StudyRepositoryExtension {
 
-    Page<Study> findByKeyword(String keyword, Pageable pageable);
+    Page<StudyCard> findByKeyword(String keyword, StudySearchFilter filter, Pageable pageable);
 
-    List<Study> findByAccount(Set<Tag> tags, Set<Zone> zones);
+    List<Long> findPublishedIdsAfter(Long lastId, int limit);
+
+    List<StudyCard> findByKeywordAndCursor(String keyword, StudySearchFilter filter, StudyCursor cursor, int limit);
+
+    List<StudyCard> findRecentlyPublished(int limit);
+
+    List<StudyCard> findByManager(Account account, int limit);
+
+    List<StudyCard> findByMember(Account account, int limit);
+
+    List<StudyCard> findCardsByIdIn(List<Long> ids);
+
+    List<StudyDocument> findDocumentsByIdIn(List<Long> ids);
+
+    String findPageVersionByPath(String path, Account viewer);
+
+    Long findIdByPath(String path);
+
+    @Transactional
+    void increaseMemberCount(Long studyId, int delta);
 }
@@ -1,55 +1,304 @@
 package com.giantdwarf.modules.study;
 
+import com.giantdwarf.modules.account.Account;
+import com.giantdwarf.modules.account.PageETagSupport;
+import com.giantdwarf.modules.study.search.StudyCursor;
+import com.giantdwarf.modules.study.search.StudyDocument;
+import com.giantdwarf.modules.study.search.StudySearchFilter;
 import com.giantdwarf.modules.tag.QTag;
-import com.giantdwarf.modules.tag.Tag;
 import com.giantdwarf.modules.zone.QZone;
-import com.giantdwarf.modules.zone.Zone;
-import com.querydsl.core.QueryResults;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.JPQLQuery;
+import org.hibernate.query.NativeQuery;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.List;
-import java.util.Set;
+import javax.persistence.Cache;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
 
 public class StudyRepositoryExtensionImpl extends QuerydslRepositorySupport implements StudyRepositoryExtension {
 
+    //PostgreSQL은 한 쿼리에 바인드 변수를 32767개까지 받는다.
+    private static final int IN_CHUNK_SIZE = 1000;
+
     public StudyRepositoryExtensionImpl() {
         super(Study.class);
     }
 
     @Override
-    public Page<Study> findByKeyword(String keyword, Pageable pageable) {
+    public Page<StudyCard> findByKeyword(String keyword, StudySearchFilter filter, Pageable pageable) {
+        QStudy study = QStudy.study;
+        Predicate predicate = keywordPredicate(keyword, filter);
+
+        //컬렉션을 fetch join한 쿼리에 페이징을 걸면 하이버네이트가 메모리에서 페이징하므로
+        //한 페이지의 id만 먼저 조회하고 카드에 필요한 값은 그 id들에 대해서만 가져온다.
+        JPQLQuery<Long> idQuery = from(study).select(study.id).where(predicate);
+        long total = idQuery.fetchCount();
+        List<Long> ids = getQuerydsl().applyPagination(pageable, idQuery).fetch();
+        return new PageImpl<>(findCardsByIdIn(ids), pageable, total);
+    }
+
+    @Override
+    public List<Long> findPublishedIdsAfter(Long lastId, int limit) {
+        QStudy study = QStudy.study;
+        return from(study).select(study.id)
+                .where(study.published.isTrue()
+                        .and(study.id.gt(lastId)))
+                .orderBy(study.id.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public List<StudyCard> findByKeywordAndCursor(String keyword, StudySearchFilter filter, StudyCursor cursor, int limit) {
+        return findByCursor(keywordPredicate(keyword, filter), cursor, limit);
+    }
+
+    @Override
+    public List<StudyCard> findRecentlyPublished(int limit) {
+        QStudy study = QStudy.study;
+        return findRecent(study.published.isTrue().and(study.closed.isFalse()), limit);
+    }
+
+    @Override
+    public List<StudyCard> findByManager(Account account, int limit) {
         QStudy study = QStudy.study;
-        JPQLQuery<Study> query = from(study).where(study.published.isTrue()
-                .and(study.title.containsIgnoreCase(keyword))
-                .or(study.tags.any().title.containsIgnoreCase(keyword))
-                .or(study.zones.any().localNameOfCity.containsIgnoreCase(keyword)))
-                .leftJoin(study.tags, QTag.tag).fetchJoin()
-                .leftJoin(study.zones, QZone.zone).fetchJoin()
-                .distinct();
-        //querydsl projection으로 더 성능최적화를 할 수 있다.
-        JPQLQuery<Study> pageableQuery = getQuerydsl().applyPagination(pageable, query);
-        QueryResults<Study> fetchResults = pageableQuery.fetchResults();
+        return findRecent(hasRole(account, StudyRole.MANAGER).and(study.closed.isFalse()), limit);
+    }
 
+    @Override
+    public List<StudyCard> findByMember(Account account, int limit) {
+        QStudy study = QStudy.study;
+        return findRecent(hasRole(account, StudyRole.MEMBER).and(study.closed.isFalse()), limit);
+    }
 
-        return new PageImpl<>(fetchResults.getResults(), pageable, fetchResults.getTotal());
+    /**
+     * Lob 컬럼인 fullDescription은 읽지 않는다.
+     * 카드 1번, 태그 1번, 지역 1번 조회하고 결과는 ids 순서대로 돌려준다.
+     * 호출하는 쪽은 한 페이지의 id만 넘긴다. 그보다 많으면 바인드 변수 한도를 넘지 않도록 나눠서 읽는다.
+     */
+    @Override
+    public List<StudyCard> findCardsByIdIn(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, StudyCard> cardById = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += IN_CHUNK_SIZE) {
+            findCards(ids.subList(from, Math.min(from + IN_CHUNK_SIZE, ids.size())), cardById);
+        }
+        return ids.stream()
+                .map(cardById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
+    private void findCards(List<Long> ids, Map<Long, StudyCard> cardById) {
+        QStudy study = QStudy.study;
+        QTag tag = QTag.tag;
+        QZone zone = QZone.zone;
+
+        for (Tuple row : from(study)
+                .select(study.id, study.path, study.title, study.shortDescription, study.memberCount,
+                        study.publishedDateTime, study.image)
+                .where(study.id.in(ids))
+                .fetch()) {
+            StudyCard card = new StudyCard(row.get(study.id), row.get(study.path), row.get(study.title),
+                    row.get(study.shortDescription), row.get(study.memberCount), row.get(study.publishedDateTime),
+                    row.get(study.image));
+            cardById.put(card.getId(), card);
+        }
+
+        from(study).join(study.tags, tag)
+                .select(study.id, tag.title)
+                .where(study.id.in(ids))
+                .orderBy(tag.title.asc())
+                .fetch()
+                .forEach(row -> cardById.get(row.get(study.id)).getTagTitles().add(row.get(tag.title)));
+        from(study).join(study.zones, zone)
+                .select(study.id, zone.id, zone.localNameOfCity)
+                .where(study.id.in(ids))
+                .orderBy(zone.localNameOfCity.asc())
+                .fetch()
+                .forEach(row -> cardById.get(row.get(study.id)).getZones()
+                        .add(new StudyCard.ZoneName(row.get(zone.id), row.get(zone.localNameOfCity))));
+    }
+
+    /**
+     * 검색 색인에 넣을 값만 스터디 1번, 태그 1번, 지역 1번 조회한다. 엔티티를 읽지 않으므로 영속성 컨텍스트에 쌓이지 않는다.
+     */
     @Override
-    public List<Study> findByAccount(Set<Tag> tags, Set<Zone> zones) {
+    public List<StudyDocument> findDocumentsByIdIn(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        QStudy study = QStudy.study;
+        QTag tag = QTag.tag;
+        QZone zone = QZone.zone;
+
+        Map<Long, StudyDocument> documentById = new LinkedHashMap<>();
+        for (Tuple row : from(study)
+                .select(study.id, study.title, study.shortDescription, study.published, study.recruiting,
+                        study.publishedDateTime, study.memberCount)
+                .where(study.id.in(ids))
+                .orderBy(study.id.asc())
+                .fetch()) {
+            StudyDocument document = new StudyDocument(row.get(study.id), row.get(study.title),
+                    row.get(study.shortDescription), row.get(study.published), row.get(study.recruiting),
+                    row.get(study.publishedDateTime), row.get(study.memberCount));
+            documentById.put(document.getId(), document);
+        }
+
+        from(study).join(study.tags, tag)
+                .select(study.id, tag.id, tag.title)
+                .where(study.id.in(ids))
+                .fetch()
+                .forEach(row -> documentById.get(row.get(study.id)).getTags()
+                        .add(new StudyDocument.TagValue(row.get(tag.id), row.get(tag.title))));
+        from(study).join(study.zones, zone)
+                .select(study.id, zone.id, zone.city, zone.localNameOfCity, zone.province)
+                .where(study.id.in(ids))
+                .fetch()
+                .forEach(row -> documentById.get(row.get(study.id)).getZones()
+                        .add(new StudyDocument.ZoneValue(row.get(zone.id), row.get(zone.city),
+                                row.get(zone.localNameOfCity), row.get(zone.province))));
+        return new ArrayList<>(documentById.values());
+    }
+
+    //스터디 화면의 버전과 보는 사람의 계정 버전을 한 번에 읽는다.
+    @Override
+    public String findPageVersionByPath(String path, Account viewer) {
+        QStudy study = QStudy.study;
+        Tuple row = from(study).select(study.version, PageETagSupport.viewerVersion(viewer))
+                .where(study.path.eq(path))
+                .fetchOne();
+        return Objects.isNull(row) ? null : row.get(0, Long.class) + ":" + row.get(1, Long.class);
+    }
+
+    @Override
+    public Long findIdByPath(String path) {
+        QStudy study = QStudy.study;
+        return from(study).select(study.id)
+                .where(study.path.eq(path))
+                .fetchOne();
+    }
+
+    /**
+     * 읽고 더해서 쓰면 동시에 가입할 때 서로의 증가분을 덮어쓰므로 DB에서 바로 더한다. 화면 ETag용 버전도 같이 올린다.
+     * 벌크 JPQL은 Study 2차 캐시 영역 전체를 비우므로 네이티브 쿼리로 고치고 바뀐 스터디 한 건만 캐시에서 뺀다.
+     * 커밋 전에 다른 트랜잭션이 옛 값을 다시 캐시에 넣을 수 있으므로 커밋한 뒤에 한 번 더 뺀다.
+     */
+    @Override
+    public void increaseMemberCount(Long studyId, int delta) {
+        getEntityManager()
+                .createNativeQuery("update study set member_count = member_count + :delta, version = version + 1 where id = :studyId")
+                .setParameter("delta", delta)
+                .setParameter("studyId", studyId)
+                .unwrap(NativeQuery.class)
+                //어느 엔티티와도 겹치지 않는 query space를 주면 하이버네이트가 캐시 영역을 비우지 않는다.
+                .addSynchronizedQuerySpace("")
+                .executeUpdate();
+
+        Cache cache = getEntityManager().getEntityManagerFactory().getCache();
+        cache.evict(Study.class, studyId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(Study.class, studyId);
+                }
+            });
+        }
+    }
+
+    private BooleanExpression hasRole(Account account, StudyRole role) {
+        QStudy study = QStudy.study;
+        QStudyMembership membership = QStudyMembership.studyMembership;
+        return study.id.in(JPAExpressions.select(membership.id.studyId)
+                .from(membership)
+                .where(membership.id.accountId.eq(account.getId()), membership.role.eq(role)));
+    }
+
+    private Predicate keywordPredicate(String keyword, StudySearchFilter filter) {
+        QStudy study = QStudy.study;
+        BooleanBuilder predicate = new BooleanBuilder(study.published.isTrue()
+                .and(study.title.containsIgnoreCase(keyword)
+                        .or(study.tags.any().title.containsIgnoreCase(keyword))
+                        .or(study.zones.any().localNameOfCity.containsIgnoreCase(keyword))));
+        if (!Objects.isNull(filter.getTag())) {
+            predicate.and(study.tags.any().id.eq(filter.getTag()));
+        }
+        if (!Objects.isNull(filter.getZone())) {
+            predicate.and(study.zones.any().id.eq(filter.getZone()));
+        }
+        if (!Objects.isNull(filter.getProvince()) && !filter.getProvince().isBlank()) {
+            predicate.and(study.zones.any().province.eq(filter.getProvince()));
+        }
+        return predicate;
+    }
+
+    //offset 대신 (정렬 값, id) 이후의 행부터 읽으므로 몇 번째 페이지든 인덱스를 타고 limit 만큼만 읽는다.
+    private List<StudyCard> findByCursor(Predicate predicate, StudyCursor cursor, int limit) {
+        QStudy study = QStudy.study;
+        BooleanBuilder where = new BooleanBuilder(predicate);
+        if (!cursor.isFirst()) {
+            where.and(seekPredicate(cursor));
+        }
+        List<Long> ids = from(study).select(study.id)
+                .where(where)
+                .orderBy(cursorOrder(cursor))
+                .limit(limit)
+                .fetch();
+        if (cursor.isBackward()) {
+            Collections.reverse(ids);
+        }
+        return findCardsByIdIn(ids);
+    }
+
+    private BooleanExpression seekPredicate(StudyCursor cursor) {
+        QStudy study = QStudy.study;
+        Long id = cursor.getId();
+        if (cursor.isSortedByMemberCount()) {
+            Integer memberCount = cursor.getMemberCount();
+            return cursor.isBackward()
+                    ? study.memberCount.gt(memberCount).or(study.memberCount.eq(memberCount).and(study.id.gt(id)))
+                    : study.memberCount.lt(memberCount).or(study.memberCount.eq(memberCount).and(study.id.lt(id)));
+        }
+        LocalDateTime publishedDateTime = cursor.getPublishedDateTime();
+        return cursor.isBackward()
+                ? study.publishedDateTime.gt(publishedDateTime).or(study.publishedDateTime.eq(publishedDateTime).and(study.id.gt(id)))
+                : study.publishedDateTime.lt(publishedDateTime).or(study.publishedDateTime.eq(publishedDateTime).and(study.id.lt(id)));
+    }
+
+    private OrderSpecifier<?>[] cursorOrder(StudyCursor cursor) {
+        QStudy study = QStudy.study;
+        if (cursor.isSortedByMemberCount()) {
+            return cursor.isBackward()
+                    ? new OrderSpecifier<?>[]{study.memberCount.asc(), study.id.asc()}
+                    : new OrderSpecifier<?>[]{study.memberCount.desc(), study.id.desc()};
+        }
+        return cursor.isBackward()
+                ? new OrderSpecifier<?>[]{study.publishedDateTime.asc(), study.id.asc()}
+                : new OrderSpecifier<?>[]{study.publishedDateTime.desc(), study.id.desc()};
+    }
+
+    private List<StudyCard> findRecent(Predicate predicate, int limit) {
         QStudy study = QStudy.study;
-        JPQLQuery<Study> query = from(study).where(study.published.isTrue()
-                .and(study.closed.isFalse())
-                .and(study.tags.any().in(tags))
-                .and(study.zones.any().in(zones)))
-                .leftJoin(study.tags, QTag.tag).fetchJoin()
-                .leftJoin(study.zones, QZone.zone).fetchJoin()
+        List<Long> ids = from(study).select(study.id)
+                .where(predicate)
                 .orderBy(study.publishedDateTime.desc())
-                .distinct()
-                .limit(9);
-        return query.fetch();
+                .limit(limit)
+                .fetch();
+        return findCardsByIdIn(ids);
     }
 }
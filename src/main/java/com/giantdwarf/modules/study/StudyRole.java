@@ -0,0 +1,6 @@
+package com.giantdwarf.modules.study;
+
+public enum StudyRole {
+
+    MANAGER, MEMBER
+}
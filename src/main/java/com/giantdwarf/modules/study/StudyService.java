@@ -1,7 +1,13 @@
 package com.giantdwarf.modules.study;
 
+import com.giantdwarf.infra.blob.ImageStore;
+import com.giantdwarf.infra.blob.ImageVariant;
 import com.giantdwarf.modules.account.Account;
+import com.giantdwarf.modules.study.event.StudyAudienceChangedEvent;
+import com.giantdwarf.modules.study.event.StudyChangedEvent;
 import com.giantdwarf.modules.study.event.StudyCreatedEvent;
+import com.giantdwarf.modules.study.event.StudyMemberCountChangedEvent;
+import com.giantdwarf.modules.study.event.StudyMembershipChangedEvent;
 import com.giantdwarf.modules.study.event.StudyUpdateEvent;
 import com.giantdwarf.modules.tag.Tag;
 import com.giantdwarf.modules.zone.Zone;
@@ -13,7 +19,10 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 
 import static com.giantdwarf.modules.study.form.StudyForm.VALID_PATH_PATTERN;
 import static com.giantdwarf.modules.study.form.StudyForm.VALID_TITLE_LENGTH;
@@ -23,13 +32,25 @@ import static com.giantdwarf.modules.study.form.StudyForm.VALID_TITLE_LENGTH;
 @RequiredArgsConstructor
 public class StudyService {
 
+    static final int MEMBERS_PAGE_SIZE = 20;
+    static final int MANAGERS_LIMIT = 50;
+
     private final StudyRepository studyRepository;
+    private final StudyMembershipRepository studyMembershipRepository;
+    private final StudyMembershipIndex studyMembershipIndex;
+    private final StudyMembershipIndexer studyMembershipIndexer;
+    private final StudyPathCache studyPathCache;
     private final ModelMapper modelMapper;
     private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final ImageStore imageStore;
 
     public Study createNewStudy(Study study, Account account) {
         Study newStudy = studyRepository.save(study);
-        newStudy.addManager(account);
+        studyMembershipRepository.saveAndFlush(StudyMembership.of(newStudy, account, StudyRole.MANAGER));
+        //managers는 읽기 전용이라 방금 넣은 관리자가 보이도록 다시 읽는다.
+        entityManager.refresh(newStudy);
+        eventPublisher.publishEvent(StudyMembershipChangedEvent.joined(newStudy.getId(), account.getId(), StudyRole.MANAGER));
         return newStudy;
     }
 
@@ -40,61 +61,115 @@ public class StudyService {
     }
 
     public Study getStudy(String path) {
-        Study study = this.studyRepository.findByPath(path);
+        Study study = findByPath(path, studyRepository::findStudyWithAllById);
+        checkIfExistingStudy(path, study);
+        return study;
+    }
+
+    /**
+     * 스터디 소개, 멤버 목록, 모임 목록 화면용. 관리자와 멤버 목록은 읽지 않으므로 회원 여부는 getStudyViewer로 확인한다.
+     * 스터디와 태그, 지역은 2차 캐시에서 읽는다.
+     */
+    public Study getStudyToView(String path) {
+        Study study = findByPath(path, this::findCachedStudy);
         checkIfExistingStudy(path, study);
         return study;
     }
 
+    public StudyViewer getStudyViewer(Study study, Account account) {
+        if (Objects.isNull(account)) {
+            return StudyViewer.none();
+        }
+        return StudyViewer.of(study, getStudyRole(study, account));
+    }
+
+    /**
+     * 메모리 색인은 커밋된 멤버십만 들고 있다. 색인을 다시 만드는 중이거나 이 트랜잭션에서 멤버십을 바꾼 스터디면 DB에서 역할을 읽는다.
+     */
+    public StudyRole getStudyRole(Study study, Account account) {
+        if (studyMembershipIndex.isReady() && !studyMembershipIndexer.isChangedInTransaction(study.getId())) {
+            return studyMembershipIndex.roleOf(study.getId(), account.getId());
+        }
+        return studyMembershipRepository.findRole(study, account);
+    }
+
+    public List<StudyMemberCard> getStudyManagers(Study study) {
+        return studyMembershipRepository.findMemberCards(study, StudyRole.MANAGER, StudyMemberCursor.first(), MANAGERS_LIMIT);
+    }
+
+    public StudyMemberSlice getStudyMembers(Study study, String cursor) {
+        StudyMemberCursor memberCursor = StudyMemberCursor.decode(cursor);
+        List<StudyMemberCard> members = studyMembershipRepository.findMemberCards(study, StudyRole.MEMBER, memberCursor, MEMBERS_PAGE_SIZE + 1);
+        return StudyMemberSlice.of(members, memberCursor, MEMBERS_PAGE_SIZE);
+    }
+
     public void updateStudyDescription(Study study, StudyDescriptionForm studyDescriptionform) {
         modelMapper.map(studyDescriptionform, study);
+        study.increaseVersion();
         eventPublisher.publishEvent(new StudyUpdateEvent(study, "스터디 소개를 수정하였습니다."));
+        eventPublisher.publishEvent(new StudyChangedEvent(study));
     }
 
     public void updateStudyImage(Study study, String image) {
-        study.setImage(image);
+        study.setImage(imageStore.store(image, ImageVariant.STUDY_IMAGE));
+        study.increaseVersion();
+        eventPublisher.publishEvent(new StudyChangedEvent(study));
     }
 
     public void enableStudyBanner(Study study) {
         study.setUseBanner(true);
+        study.increaseVersion();
     }
 
     public void disableStudyBanner(Study study) {
         study.setUseBanner(false);
-
+        study.increaseVersion();
     }
 
     public void addTag(Study study, Tag tag) {
         study.getTags().add(tag);
+        study.increaseVersion();
+        eventPublisher.publishEvent(new StudyChangedEvent(study));
+        eventPublisher.publishEvent(new StudyAudienceChangedEvent(study.getId()));
     }
 
     public void removeTag(Study study, Tag tag) {
         study.getTags().remove(tag);
+        study.increaseVersion();
+        eventPublisher.publishEvent(new StudyChangedEvent(study));
+        eventPublisher.publishEvent(new StudyAudienceChangedEvent(study.getId()));
     }
 
     public void addZone(Study study, Zone zone) {
         study.getZones().add(zone);
+        study.increaseVersion();
+        eventPublisher.publishEvent(new StudyChangedEvent(study));
+        eventPublisher.publishEvent(new StudyAudienceChangedEvent(study.getId()));
     }
 
     public void removeZone(Study study, Zone zone) {
         study.getZones().remove(zone);
+        study.increaseVersion();
+        eventPublisher.publishEvent(new StudyChangedEvent(study));
+        eventPublisher.publishEvent(new StudyAudienceChangedEvent(study.getId()));
     }
 
     public Study getStudyToUpdateTag(Account account, String path) {
-        Study study = studyRepository.findStudyWithTagsByPath(path);
+        Study study = findByPath(path, studyRepository::findStudyWithTagsById);
         checkIfExistingStudy(path, study);
         checkIfManager(account, study);
         return study;
     }
 
     public Study getStudyToUpdateZone(Account account, String path) {
-        Study study = studyRepository.findStudyWithZonesByPath(path);
+        Study study = findByPath(path, studyRepository::findStudyWithZonesById);
         checkIfExistingStudy(path, study);
         checkIfManager(account, study);
         return study;
     }
 
     private void checkIfManager(Account account, Study study) {
-        if (!study.isManagedBy(account)) {
+        if (getStudyRole(study, account) != StudyRole.MANAGER) {
             throw new AccessDeniedException("해당 기능을 사용할 수 없습니다.");
         }
     }
@@ -106,30 +181,67 @@ public class StudyService {
     }
 
     public Study getStudyToUpdateStatus(Account account, String path) {
-        Study study = studyRepository.findStudyWithManagersByPath(path);
-        checkIfExistingStudy(path, study);
+        Study study = getStudyWithManagers(path);
         checkIfManager(account, study);
         return study;
     }
 
+    public Study getStudyWithManagers(String path) {
+        Study study = findByPath(path, studyRepository::findStudyWithManagersById);
+        checkIfExistingStudy(path, study);
+        return study;
+    }
+
+    /**
+     * 경로는 캐시에서 id로 바꾸고 스터디는 id로 읽는다. 캐시에 남아 있던 예전 경로였다면 비우고 DB에서 한 번 더 찾는다.
+     */
+    private Study findByPath(String path, Function<Long, Study> loadById) {
+        Long id = studyPathCache.resolve(path, studyRepository::findIdByPath);
+        if (Objects.isNull(id)) {
+            return null;
+        }
+        Study study = loadById.apply(id);
+        if (!Objects.isNull(study) && path.equals(study.getPath())) {
+            return study;
+        }
+        studyPathCache.evict(path);
+        id = studyRepository.findIdByPath(path);
+        return Objects.isNull(id) ? null : loadById.apply(id);
+    }
+
+    //엔티티 그래프 쿼리는 2차 캐시를 거치지 않으므로 id로 바로 찾는다.
+    private Study findCachedStudy(Long id) {
+        return studyRepository.findById(id).orElse(null);
+    }
+
     public void publish(Study study) {
         study.publish();
+        study.increaseVersion();
         eventPublisher.publishEvent(new StudyCreatedEvent(study));
+        eventPublisher.publishEvent(new StudyChangedEvent(study));
+        eventPublisher.publishEvent(new StudyAudienceChangedEvent(study.getId()));
     }
 
     public void close(Study study) {
         study.close();
+        study.increaseVersion();
         eventPublisher.publishEvent(new StudyUpdateEvent(study, "스터디 종료하였습니다."));
+        eventPublisher.publishEvent(new StudyChangedEvent(study));
+        eventPublisher.publishEvent(new StudyAudienceChangedEvent(study.getId()));
     }
 
     public void startRecruit(Study study) {
         study.startRecruit();
+        study.increaseVersion();
         eventPublisher.publishEvent(new StudyUpdateEvent(study, "팀원 모집을 시작하였습니다."));
+        eventPublisher.publishEvent(new StudyChangedEvent(study));
     }
 
     public void stopRecruit(Study study) {
         study.stopRecruit();
+        study.increaseVersion();
         eventPublisher.publishEvent(new StudyUpdateEvent(study, "팀원 모집을 중단하였습니다."));
+        eventPublisher.publishEvent(new StudyChangedEvent(study));
     }
 
     public boolean isValidPath(String newPath) {
@@ -140,7 +252,10 @@ public class StudyService {
     }
 
     public void updateStudyPath(Study study, String newPath) {
+        studyPathCache.evict(study.getPath());
         study.setPath(newPath);
+        study.increaseVersion();
+        eventPublisher.publishEvent(new StudyChangedEvent(study));
     }
 
     public boolean isValidTitle(String newTitle) {
@@ -149,28 +264,45 @@ public class StudyService {
 
     public void updateStudyTitle(Study study, String newTitle) {
         study.setTitle(newTitle);
+        study.increaseVersion();
+        eventPublisher.publishEvent(new StudyChangedEvent(study));
     }
 
     public void remove(Study study) {
         if (study.isRemovable()) {
+            studyMembershipRepository.deleteAllByStudy(study);
             studyRepository.delete(study);
+            studyPathCache.evict(study.getPath());
+            eventPublisher.publishEvent(StudyMembershipChangedEvent.studyRemoved(study.getId()));
         } else {
             throw new IllegalArgumentException("스터디를 삭제할 수 없습니다.");
         }
     }
 
+    /**
+     * 멤버 목록을 읽지 않고 StudyMembership 한 건만 넣는다. memberCount와 version은 DB에서 바로 더하므로
+     * 여기서 study 엔티티를 고치면 flush 때 다른 요청이 올린 값을 덮어쓴다.
+     * 이미 관리자나 멤버면(동시에 두 번 가입한 경우 포함) 넣지 않고 멤버 수도 그대로 둔다.
+     */
     public void addMember(Study study, Account account) {
-        study.addMember(account);
-        
+        if (studyMembershipRepository.insertIfAbsent(study, account, StudyRole.MEMBER) == 0) {
+            return;
+        }
+        studyRepository.increaseMemberCount(study.getId(), 1);
+        eventPublisher.publishEvent(StudyMembershipChangedEvent.joined(study.getId(), account.getId(), StudyRole.MEMBER));
+        eventPublisher.publishEvent(new StudyMemberCountChangedEvent(study.getId(), 1));
     }
 
     public void removeMember(Study study, Account account) {
-        study.removeMember(account);
-
+        if (studyMembershipRepository.deleteMembership(study, account, StudyRole.MEMBER) > 0) {
+            studyRepository.increaseMemberCount(study.getId(), -1);
+            eventPublisher.publishEvent(StudyMembershipChangedEvent.left(study.getId(), account.getId()));
+            eventPublisher.publishEvent(new StudyMemberCountChangedEvent(study.getId(), -1));
+        }
     }
 
     public Study getStudyToEnroll(String path) {
-        Study study = studyRepository.findStudyOnlyByPath(path);
+        Study study = findByPath(path, this::findCachedStudy);
         checkIfExistingStudy(path, study);
         return study;
 
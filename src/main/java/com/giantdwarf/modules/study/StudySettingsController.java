@@ -1,7 +1,5 @@
 package com.giantdwarf.modules.study;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.giantdwarf.modules.account.CurrentUser;
 import com.giantdwarf.modules.account.Account;
 import com.giantdwarf.modules.tag.Tag;
@@ -11,7 +9,8 @@ import com.giantdwarf.modules.account.form.ZoneForm;
 import com.giantdwarf.modules.study.form.StudyDescriptionForm;
 import com.giantdwarf.modules.tag.TagRepository;
 import com.giantdwarf.modules.tag.TagService;
-import com.giantdwarf.modules.zone.ZoneRepository;
+import com.giantdwarf.modules.tag.TagWhitelist;
+import com.giantdwarf.modules.zone.ZoneRegistry;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.http.ResponseEntity;
@@ -22,7 +21,6 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import javax.validation.Valid;
-import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -34,9 +32,9 @@ public class StudySettingsController {
     private final StudyService studyService;
     private final ModelMapper modelMapper;
     private final TagService tagService;
+    private final TagWhitelist tagWhitelist;
     private final TagRepository tagRepository;
-    private final ObjectMapper objectMapper;
-    private final ZoneRepository zoneRepository;
+    private final ZoneRegistry zoneRegistry;
 
     @GetMapping("/description")
     public String viewStudySettings(@CurrentUser Account account, @PathVariable String path, Model model) {
@@ -75,7 +73,12 @@ public class StudySettingsController {
     @PostMapping("/banner")
     public String studyImageSubmit(@CurrentUser Account account, @PathVariable String path, String image, RedirectAttributes attributes) {
         Study study = studyService.getStudyToUpdate(account, path);
-        studyService.updateStudyImage(study, image);
+        try {
+            studyService.updateStudyImage(study, image);
+        } catch (IllegalArgumentException e) {
+            attributes.addFlashAttribute("message", e.getMessage());
+            return "redirect:/study/" + study.getEncodedPath() + "/settings/banner";
+        }
         attributes.addFlashAttribute("message", " 스터디 이미지를 수정하였습니다.");
         return "redirect:/study/" + study.getEncodedPath() + "/settings/banner";
     }
@@ -95,7 +98,7 @@ public class StudySettingsController {
     }
 
     @GetMapping("/tags")
-    public String studyTagsForm(@CurrentUser Account account, @PathVariable String path, Model model) throws JsonProcessingException {
+    public String studyTagsForm(@CurrentUser Account account, @PathVariable String path, Model model) {
         Study study = studyService.getStudyToUpdate(account, path);
         model.addAttribute(account);
         model.addAttribute(study);
@@ -103,10 +106,7 @@ public class StudySettingsController {
         model.addAttribute("tags", study.getTags().stream()
                 .map(Tag::getTitle)
                 .collect(Collectors.toList()));
-        List<String> allTagTitles = tagRepository.findAll().stream()
-                .map(Tag::getTitle)
-                .collect(Collectors.toList());
-        model.addAttribute("whitelist", objectMapper.writeValueAsString(allTagTitles));
+        model.addAttribute("whitelistUrl", tagWhitelist.getUrl());
 
         return "study/settings/tags";
     }
@@ -133,7 +133,7 @@ public class StudySettingsController {
     }
 
     @GetMapping("/zones")
-    public String studyZonesForm(@CurrentUser Account account, @PathVariable String path, Model model) throws JsonProcessingException {
+    public String studyZonesForm(@CurrentUser Account account, @PathVariable String path, Model model) {
         Study study = studyService.getStudyToUpdate(account, path);
         model.addAttribute(account);
         model.addAttribute(study);
@@ -141,10 +141,7 @@ public class StudySettingsController {
         model.addAttribute("zones", study.getZones().stream()
                 .map(Zone::toString)
                 .collect(Collectors.toList()));
-        List<String> allZones = zoneRepository.findAll().stream()
-                .map(Zone::toString)
-                .collect(Collectors.toList());
-        model.addAttribute("whitelist", objectMapper.writeValueAsString(allZones));
+        model.addAttribute("whitelist", zoneRegistry.getWhitelistJson());
 
         return "study/settings/zones";
     }
@@ -153,7 +150,7 @@ public class StudySettingsController {
     @ResponseBody
     public ResponseEntity addZones(@CurrentUser Account account, @PathVariable String path, @RequestBody ZoneForm zoneForm) {
         Study study = studyService.getStudyToUpdateZone(account, path);
-        Zone zone = zoneRepository.findByCityAndProvince(zoneForm.getCityName(), zoneForm.getProvinceName());
+        Zone zone = zoneRegistry.find(zoneForm.getCityName(), zoneForm.getProvinceName());
         if (Objects.isNull(zone)) {
             return ResponseEntity.badRequest().build();
         }
@@ -166,7 +163,7 @@ public class StudySettingsController {
     @ResponseBody
     public ResponseEntity removeZones(@CurrentUser Account account, @PathVariable String path, @RequestBody ZoneForm zoneForm) {
         Study study = studyService.getStudyToUpdateZone(account, path);
-        Zone zone = zoneRepository.findByCityAndProvince(zoneForm.getCityName(), zoneForm.getProvinceName());
+        Zone zone = zoneRegistry.find(zoneForm.getCityName(), zoneForm.getProvinceName());
         if (Objects.isNull(zone)) {
             return ResponseEntity.badRequest().build();
         }
@@ -0,0 +1,43 @@
+package com.giantdwarf.modules.study;
+
+import com.giantdwarf.modules.account.UserAccount;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 스터디 화면 상단(가입, 탈퇴, 모임 만들기, 설정 메뉴)에 필요한 보는 사람의 관리자, 멤버 여부.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class StudyViewer {
+
+    private static final StudyViewer NONE = new StudyViewer(false, false, false);
+
+    private final boolean manager;
+
+    private final boolean member;
+
+    private final boolean joinable;
+
+    public static StudyViewer of(Study study, StudyRole role) {
+        return of(study, role == StudyRole.MANAGER, role == StudyRole.MEMBER);
+    }
+
+    public static StudyViewer none() {
+        return NONE;
+    }
+
+    //관리자, 멤버 목록을 이미 읽어 온 화면(멤버 목록, 설정)에서 템플릿이 직접 만든다.
+    public static StudyViewer of(Study study, Object principal) {
+        if (!(principal instanceof UserAccount)) {
+            return NONE;
+        }
+        UserAccount userAccount = (UserAccount) principal;
+        return of(study, study.isManager(userAccount), study.isMember(userAccount));
+    }
+
+    private static StudyViewer of(Study study, boolean manager, boolean member) {
+        return new StudyViewer(manager, member, study.isPublished() && study.isRecruiting() && !manager && !member);
+    }
+}
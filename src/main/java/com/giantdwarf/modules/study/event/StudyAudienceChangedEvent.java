@@ -0,0 +1,15 @@
+package com.giantdwarf.modules.study.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 스터디를 추천받을 계정이 달라질 수 있는 변경(공개, 종료, 태그, 지역)이 있을 때 발생한다.
+ * 소개, 이미지, 제목처럼 추천 대상과 상관없는 변경에는 StudyChangedEvent만 발생한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class StudyAudienceChangedEvent {
+
+    private final Long studyId;
+}
@@ -0,0 +1,13 @@
+package com.giantdwarf.modules.study.event;
+
+import com.giantdwarf.modules.study.Study;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class StudyChangedEvent {
+
+    private final Study study;
+
+}
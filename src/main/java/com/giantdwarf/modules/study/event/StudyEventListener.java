@@ -82,6 +82,8 @@ public class StudyEventListener {
         notification.setAccount(account);
         notification.setNotificationType(notificationType);
         notificationRepository.save(notification);
+        //상단 메뉴의 새 알림 표시가 바뀌므로 계정 버전을 올려 화면 ETag가 달라지게 한다.
+        account.increaseVersion();
     }
 
     private void sendStudyCreatedEmail(Study study, Account account, String contextMessage, String emailSubject) {
@@ -0,0 +1,16 @@
+package com.giantdwarf.modules.study.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 가입, 탈퇴로 멤버 수만 바뀌었을 때 발생한다. 검색 색인은 스터디를 다시 읽지 않고 멤버 수만 고친다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class StudyMemberCountChangedEvent {
+
+    private final Long studyId;
+
+    private final int delta;
+}
@@ -0,0 +1,31 @@
+package com.giantdwarf.modules.study.event;
+
+import com.giantdwarf.modules.study.StudyRole;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 관리자, 멤버가 바뀌었음을 알린다. role이 없으면 탈퇴, accountId도 없으면 스터디가 지워진 것이다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class StudyMembershipChangedEvent {
+
+    private final Long studyId;
+
+    private final Long accountId;
+
+    private final StudyRole role;
+
+    public static StudyMembershipChangedEvent joined(Long studyId, Long accountId, StudyRole role) {
+        return new StudyMembershipChangedEvent(studyId, accountId, role);
+    }
+
+    public static StudyMembershipChangedEvent left(Long studyId, Long accountId) {
+        return new StudyMembershipChangedEvent(studyId, accountId, null);
+    }
+
+    public static StudyMembershipChangedEvent studyRemoved(Long studyId) {
+        return new StudyMembershipChangedEvent(studyId, null, null);
+    }
+}
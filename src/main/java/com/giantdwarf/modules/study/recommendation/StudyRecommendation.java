@@ -0,0 +1,45 @@
+package com.giantdwarf.modules.study.recommendation;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 계정의 관심 주제와 활동 지역에 맞는 공개 스터디를 미리 계산해 둔 행.
+ * 로그인한 첫 화면은 (accountId, publishedDateTime) 인덱스만 읽는다.
+ */
+@Entity
+@Getter @Setter
+@EqualsAndHashCode(of = "id")
+@NoArgsConstructor
+@Table(indexes = {
+        @Index(columnList = "accountId, publishedDateTime"),
+        @Index(columnList = "studyId")
+}, uniqueConstraints = @UniqueConstraint(columnNames = {"accountId", "studyId"}))
+public class StudyRecommendation {
+
+    //StudyRecommendationRepositoryExtensionImpl.insertIfAbsent가 네이티브 쿼리에서 같은 시퀀스(hibernate_sequence)로 id를 받는다.
+    //생성 전략이나 시퀀스를 바꾸면 그 쿼리도 같이 바꿔야 한다.
+    @Id @GeneratedValue
+    private Long id;
+
+    @Column(nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false)
+    private Long studyId;
+
+    private LocalDateTime publishedDateTime;
+
+    public static StudyRecommendation of(Long accountId, Long studyId, LocalDateTime publishedDateTime) {
+        StudyRecommendation studyRecommendation = new StudyRecommendation();
+        studyRecommendation.setAccountId(accountId);
+        studyRecommendation.setStudyId(studyId);
+        studyRecommendation.setPublishedDateTime(publishedDateTime);
+        return studyRecommendation;
+    }
+}
@@ -0,0 +1,54 @@
+package com.giantdwarf.modules.study.recommendation;
+
+import com.giantdwarf.modules.account.event.AccountInterestChangedEvent;
+import com.giantdwarf.modules.study.StudyRepository;
+import com.giantdwarf.modules.study.event.StudyAudienceChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+@Slf4j
+@Async
+@Component
+@RequiredArgsConstructor
+public class StudyRecommendationListener {
+
+    private static final int INITIALIZE_BATCH_SIZE = 500;
+
+    private final StudyRecommendationService studyRecommendationService;
+    private final StudyRecommendationRepository studyRecommendationRepository;
+    private final StudyRepository studyRepository;
+
+    //추천 테이블이 비어 있으면(처음 배포했을 때) 공개된 스터디마다 한 번씩 채운다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (studyRecommendationRepository.count() > 0) {
+            return;
+        }
+        long lastId = 0L;
+        List<Long> ids = studyRepository.findPublishedIdsAfter(lastId, INITIALIZE_BATCH_SIZE);
+        while (!ids.isEmpty()) {
+            ids.forEach(studyRecommendationService::refreshStudy);
+            lastId = ids.get(ids.size() - 1);
+            ids = studyRepository.findPublishedIdsAfter(lastId, INITIALIZE_BATCH_SIZE);
+        }
+        log.info("study recommendations initialized with {} rows", studyRecommendationRepository.count());
+    }
+
+    //소개, 이미지처럼 추천 대상이 바뀌지 않는 변경에는 관심 있는 계정을 다시 찾지 않는다.
+    @TransactionalEventListener
+    public void handleStudyAudienceChangedEvent(StudyAudienceChangedEvent studyAudienceChangedEvent) {
+        studyRecommendationService.refreshStudy(studyAudienceChangedEvent.getStudyId());
+    }
+
+    @TransactionalEventListener
+    public void handleAccountInterestChangedEvent(AccountInterestChangedEvent accountInterestChangedEvent) {
+        studyRecommendationService.refreshAccount(accountInterestChangedEvent.getAccountId());
+    }
+}
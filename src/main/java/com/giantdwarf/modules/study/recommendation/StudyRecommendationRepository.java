@@ -0,0 +1,16 @@
+package com.giantdwarf.modules.study.recommendation;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface StudyRecommendationRepository extends JpaRepository<StudyRecommendation, Long>, StudyRecommendationRepositoryExtension {
+
+    List<StudyRecommendation> findFirst9ByAccountIdOrderByPublishedDateTimeDesc(Long accountId);
+
+    List<StudyRecommendation> findByAccountId(Long accountId);
+
+    List<StudyRecommendation> findByStudyId(Long studyId);
+}
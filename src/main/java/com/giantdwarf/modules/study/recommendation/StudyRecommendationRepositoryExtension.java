@@ -0,0 +1,30 @@
+package com.giantdwarf.modules.study.recommendation;
+
+import com.giantdwarf.modules.tag.Tag;
+import com.giantdwarf.modules.zone.Zone;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+@Transactional(readOnly = true)
+public interface StudyRecommendationRepositoryExtension {
+
+    List<Long> findAccountIdsInterestedIn(Set<Tag> tags, Set<Zone> zones);
+
+    List<StudyRecommendation> findCandidates(Long accountId, Set<Tag> tags, Set<Zone> zones);
+
+    @Transactional
+    int insertIfAbsent(Long accountId, Long studyId, LocalDateTime publishedDateTime);
+
+    @Transactional
+    long deleteByStudyId(Long studyId);
+
+    @Transactional
+    long deleteByStudyIdAndAccountIdIn(Long studyId, Collection<Long> accountIds);
+
+    @Transactional
+    long deleteByAccountIdAndStudyIdIn(Long accountId, Collection<Long> studyIds);
+}
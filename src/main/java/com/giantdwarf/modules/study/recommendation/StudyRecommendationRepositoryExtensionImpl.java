@@ -0,0 +1,96 @@
+package com.giantdwarf.modules.study.recommendation;
+
+import com.giantdwarf.modules.account.AccountPredicates;
+import com.giantdwarf.modules.account.QAccount;
+import com.giantdwarf.modules.study.QStudy;
+import com.giantdwarf.modules.tag.Tag;
+import com.giantdwarf.modules.zone.Zone;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class StudyRecommendationRepositoryExtensionImpl extends QuerydslRepositorySupport implements StudyRecommendationRepositoryExtension {
+
+    public StudyRecommendationRepositoryExtensionImpl() {
+        super(StudyRecommendation.class);
+    }
+
+    //프로필 이미지 같은 Lob 컬럼을 읽지 않도록 계정 id만 조회한다.
+    @Override
+    public List<Long> findAccountIdsInterestedIn(Set<Tag> tags, Set<Zone> zones) {
+        if (tags.isEmpty() || zones.isEmpty()) {
+            return Collections.emptyList();
+        }
+        QAccount account = QAccount.account;
+        return from(account).select(account.id)
+                .where(AccountPredicates.findByTagsAndZones(tags, zones))
+                .fetch();
+    }
+
+    @Override
+    public List<StudyRecommendation> findCandidates(Long accountId, Set<Tag> tags, Set<Zone> zones) {
+        if (tags.isEmpty() || zones.isEmpty()) {
+            return Collections.emptyList();
+        }
+        QStudy study = QStudy.study;
+        return from(study).select(study.id, study.publishedDateTime)
+                .where(study.published.isTrue()
+                        .and(study.closed.isFalse())
+                        .and(study.tags.any().in(tags))
+                        .and(study.zones.any().in(zones)))
+                .fetch()
+                .stream()
+                .map(row -> StudyRecommendation.of(accountId, row.get(study.id), row.get(study.publishedDateTime)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 같은 (계정, 스터디)를 스터디 쪽 갱신과 계정 쪽 갱신이 동시에 넣으면 한쪽이 unique 제약에 걸려 트랜잭션이 깨지므로,
+     * 이미 있으면 아무것도 하지 않는 upsert로 넣는다. id는 @GeneratedValue 기본값인 hibernate_sequence에서 받는다.
+     * 네이티브 쿼리는 기본으로 2차 캐시 전체를 비우므로 StudyRecommendation만 바뀐다고 알려준다.
+     */
+    @Override
+    public int insertIfAbsent(Long accountId, Long studyId, LocalDateTime publishedDateTime) {
+        return getEntityManager()
+                .createNativeQuery("insert into study_recommendation (id, account_id, study_id, published_date_time) " +
+                        "values (nextval('hibernate_sequence'), :accountId, :studyId, :publishedDateTime) " +
+                        "on conflict (account_id, study_id) do nothing")
+                .setParameter("accountId", accountId)
+                .setParameter("studyId", studyId)
+                .setParameter("publishedDateTime", publishedDateTime)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(StudyRecommendation.class)
+                .executeUpdate();
+    }
+
+    //엔티티를 읽어서 지우면 다른 갱신이 먼저 지운 행에서 건수가 맞지 않아 실패하므로 조건으로 한 번에 지운다.
+    @Override
+    public long deleteByStudyId(Long studyId) {
+        QStudyRecommendation recommendation = QStudyRecommendation.studyRecommendation;
+        return delete(recommendation)
+                .where(recommendation.studyId.eq(studyId))
+                .execute();
+    }
+
+    @Override
+    public long deleteByStudyIdAndAccountIdIn(Long studyId, Collection<Long> accountIds) {
+        QStudyRecommendation recommendation = QStudyRecommendation.studyRecommendation;
+        return delete(recommendation)
+                .where(recommendation.studyId.eq(studyId), recommendation.accountId.in(accountIds))
+                .execute();
+    }
+
+    @Override
+    public long deleteByAccountIdAndStudyIdIn(Long accountId, Collection<Long> studyIds) {
+        QStudyRecommendation recommendation = QStudyRecommendation.studyRecommendation;
+        return delete(recommendation)
+                .where(recommendation.accountId.eq(accountId), recommendation.studyId.in(studyIds))
+                .execute();
+    }
+}
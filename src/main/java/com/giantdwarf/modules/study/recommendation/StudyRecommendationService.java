@@ -0,0 +1,82 @@
+package com.giantdwarf.modules.study.recommendation;
+
+import com.giantdwarf.modules.account.Account;
+import com.giantdwarf.modules.account.AccountRepository;
+import com.giantdwarf.modules.study.Study;
+import com.giantdwarf.modules.study.StudyCard;
+import com.giantdwarf.modules.study.StudyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class StudyRecommendationService {
+
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
+    private final StudyRecommendationRepository studyRecommendationRepository;
+    private final StudyRepository studyRepository;
+    private final AccountRepository accountRepository;
+
+    @Transactional(readOnly = true)
+    public List<StudyCard> getRecommendations(Account account) {
+        List<Long> studyIds = studyRecommendationRepository.findFirst9ByAccountIdOrderByPublishedDateTimeDesc(account.getId())
+                .stream()
+                .map(StudyRecommendation::getStudyId)
+                .collect(Collectors.toList());
+        return studyRepository.findCardsByIdIn(studyIds);
+    }
+
+    /**
+     * 스터디가 공개, 종료되거나 태그, 지역이 바뀌면 그 스터디를 추천받을 계정 목록을 다시 맞춘다.
+     * 같은 행을 계정 쪽 갱신이 동시에 넣거나 지울 수 있으므로 넣기는 upsert로, 지우기는 조건으로 한다.
+     */
+    public void refreshStudy(Long studyId) {
+        Study study = studyRepository.findStudyWithTagsAndZonesById(studyId);
+        if (Objects.isNull(study) || !study.isPublished() || study.isClosed()) {
+            studyRecommendationRepository.deleteByStudyId(studyId);
+            return;
+        }
+        Set<Long> accountIds = new HashSet<>(studyRecommendationRepository.findAccountIdsInterestedIn(study.getTags(), study.getZones()));
+
+        Set<Long> existing = studyRecommendationRepository.findByStudyId(studyId).stream()
+                .map(StudyRecommendation::getAccountId)
+                .collect(Collectors.toSet());
+        inChunks(existing.stream().filter(accountId -> !accountIds.contains(accountId)).collect(Collectors.toList()),
+                chunk -> studyRecommendationRepository.deleteByStudyIdAndAccountIdIn(studyId, chunk));
+        accountIds.stream()
+                .filter(accountId -> !existing.contains(accountId))
+                .forEach(accountId -> studyRecommendationRepository.insertIfAbsent(accountId, studyId, study.getPublishedDateTime()));
+    }
+
+    public void refreshAccount(Long accountId) {
+        Account account = accountRepository.findAccountWithTagsAndZonesById(accountId);
+        Map<Long, StudyRecommendation> candidates = Objects.isNull(account)
+                ? Collections.emptyMap()
+                : studyRecommendationRepository.findCandidates(accountId, account.getTags(), account.getZones()).stream()
+                .collect(Collectors.toMap(StudyRecommendation::getStudyId, Function.identity()));
+
+        Set<Long> existing = studyRecommendationRepository.findByAccountId(accountId).stream()
+                .map(StudyRecommendation::getStudyId)
+                .collect(Collectors.toSet());
+        inChunks(existing.stream().filter(studyId -> !candidates.containsKey(studyId)).collect(Collectors.toList()),
+                chunk -> studyRecommendationRepository.deleteByAccountIdAndStudyIdIn(accountId, chunk));
+        candidates.values().stream()
+                .filter(candidate -> !existing.contains(candidate.getStudyId()))
+                .forEach(candidate -> studyRecommendationRepository.insertIfAbsent(accountId, candidate.getStudyId(), candidate.getPublishedDateTime()));
+    }
+
+    //in 절에 묶는 값이 PostgreSQL의 바인드 변수 한도를 넘지 않도록 나눠서 지운다.
+    private static void inChunks(List<Long> ids, Consumer<List<Long>> action) {
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+            action.accept(ids.subList(from, Math.min(from + DELETE_CHUNK_SIZE, ids.size())));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.giantdwarf.modules.study.search;
+
+import com.giantdwarf.modules.study.StudyCard;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * 정렬 기준 값과 스터디 id로 다음(또는 이전) 페이지의 시작 위치를 가리키는 커서.
+ * 클라이언트에는 base64로 인코딩한 문자열로만 전달한다.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class StudyCursor {
+
+    public static final String PUBLISHED_DATE_TIME = "publishedDateTime";
+    public static final String MEMBER_COUNT = "memberCount";
+
+    private static final String DELIMITER = "|";
+
+    private final String sortProperty;
+
+    private final LocalDateTime publishedDateTime;
+
+    private final Integer memberCount;
+
+    private final Long id;
+
+    private final boolean backward;
+
+    public static StudyCursor first(String sortProperty) {
+        return new StudyCursor(sortPropertyOf(sortProperty), null, null, null, false);
+    }
+
+    public static StudyCursor after(String sortProperty, StudyCard study) {
+        return new StudyCursor(sortProperty, study.getPublishedDateTime(), study.getMemberCount(), study.getId(), false);
+    }
+
+    public static StudyCursor before(String sortProperty, StudyCard study) {
+        return new StudyCursor(sortProperty, study.getPublishedDateTime(), study.getMemberCount(), study.getId(), true);
+    }
+
+    public static StudyCursor decode(String encoded, String defaultSortProperty) {
+        if (Objects.isNull(encoded) || encoded.isBlank()) {
+            return first(defaultSortProperty);
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            String[] split = decoded.split("\\" + DELIMITER);
+            String sortProperty = sortPropertyOf(split[0]);
+            LocalDateTime publishedDateTime = MEMBER_COUNT.equals(sortProperty) ? null : LocalDateTime.parse(split[1]);
+            Integer memberCount = MEMBER_COUNT.equals(sortProperty) ? Integer.valueOf(split[1]) : null;
+            return new StudyCursor(sortProperty, publishedDateTime, memberCount, Long.valueOf(split[2]), "p".equals(split[3]));
+        } catch (RuntimeException e) {
+            //잘못된 커서는 첫 페이지로 취급한다.
+            return first(defaultSortProperty);
+        }
+    }
+
+    public String encode() {
+        String sortValue = isSortedByMemberCount() ? String.valueOf(memberCount) : String.valueOf(publishedDateTime);
+        String raw = String.join(DELIMITER, sortProperty, sortValue, String.valueOf(id), backward ? "p" : "n");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isFirst() {
+        return Objects.isNull(id);
+    }
+
+    public boolean isSortedByMemberCount() {
+        return MEMBER_COUNT.equals(sortProperty);
+    }
+
+    private static String sortPropertyOf(String sortProperty) {
+        return MEMBER_COUNT.equals(sortProperty) ? MEMBER_COUNT : PUBLISHED_DATE_TIME;
+    }
+}
@@ -0,0 +1,68 @@
+package com.giantdwarf.modules.study.search;
+
+import com.giantdwarf.modules.study.Study;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 검색 색인과 자동완성 색인에 넣을 값만 담은 읽기 전용 모델.
+ * 엔티티가 아니므로 영속성 컨텍스트에 남지 않고, Lob 컬럼인 fullDescription과 배너 이미지는 읽지 않는다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class StudyDocument {
+
+    private final Long id;
+
+    private final String title;
+
+    private final String shortDescription;
+
+    private final boolean published;
+
+    private final boolean recruiting;
+
+    private final LocalDateTime publishedDateTime;
+
+    private final int memberCount;
+
+    private final List<TagValue> tags = new ArrayList<>();
+
+    private final List<ZoneValue> zones = new ArrayList<>();
+
+    public static StudyDocument of(Study study) {
+        StudyDocument document = new StudyDocument(study.getId(), study.getTitle(), study.getShortDescription(),
+                study.isPublished(), study.isRecruiting(), study.getPublishedDateTime(), study.getMemberCount());
+        study.getTags().forEach(tag -> document.getTags().add(new TagValue(tag.getId(), tag.getTitle())));
+        study.getZones().forEach(zone -> document.getZones()
+                .add(new ZoneValue(zone.getId(), zone.getCity(), zone.getLocalNameOfCity(), zone.getProvince())));
+        return document;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class TagValue {
+
+        private Long id;
+
+        private String title;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ZoneValue {
+
+        private Long id;
+
+        private String city;
+
+        private String localNameOfCity;
+
+        private String province;
+    }
+}
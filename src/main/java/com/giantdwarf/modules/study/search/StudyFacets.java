@@ -0,0 +1,41 @@
+package com.giantdwarf.modules.study.search;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 검색 결과 안에서 태그, 지역, 시/도 별로 스터디가 몇 개인지 센 값.
+ */
+@Getter
+@RequiredArgsConstructor
+public class StudyFacets {
+
+    private final List<Count> tags;
+
+    private final List<Count> zones;
+
+    private final List<Count> provinces;
+
+    public static StudyFacets empty() {
+        return new StudyFacets(Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+    }
+
+    public boolean isEmpty() {
+        return tags.isEmpty() && zones.isEmpty() && provinces.isEmpty();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Count {
+
+        //필터 요청 파라미터로 보내는 값. 태그와 지역은 id, 시/도는 이름이다.
+        private final String value;
+
+        private final String label;
+
+        private final int count;
+    }
+}
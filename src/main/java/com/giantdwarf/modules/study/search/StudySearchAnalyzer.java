@@ -0,0 +1,81 @@
+package com.giantdwarf.modules.study.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 검색 색인과 검색어에 같이 쓰는 분석기.
+ * 영문과 숫자는 단어 단위로, 한글은 띄어쓰기를 무시하고 이어 붙인 뒤 두 글자씩(bigram) 자른다.
+ * "스프링부트"와 "스프링 부트"가 같은 bigram(스프, 프링, 링부, 부트)을 만들어서 띄어쓰기가 달라도 찾을 수 있다.
+ */
+public class StudySearchAnalyzer {
+
+    private static final char HANGUL_BEGIN = '가';
+    private static final char HANGUL_END = '힣';
+
+    public static List<String> analyze(String text) {
+        if (Objects.isNull(text) || text.isBlank()) {
+            return new ArrayList<>();
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        Set<String> terms = new LinkedHashSet<>();
+        StringBuilder word = new StringBuilder();
+        StringBuilder hangul = new StringBuilder();
+        for (char c : normalized.toCharArray()) {
+            if (isHangul(c)) {
+                flushWord(word, terms);
+                hangul.append(c);
+            } else if (Character.isLetterOrDigit(c)) {
+                flushHangul(hangul, terms);
+                word.append(c);
+            } else if (Character.isWhitespace(c)) {
+                //한글은 공백을 건너 이어 붙여야 띄어쓰기가 달라도 같은 bigram이 나온다.
+                flushWord(word, terms);
+            } else {
+                flushWord(word, terms);
+                flushHangul(hangul, terms);
+            }
+        }
+        flushWord(word, terms);
+        flushHangul(hangul, terms);
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * 두 글자 한글 bigram은 postings에서 정확히 찾고, 영문 단어와 한 글자 한글은 입력 중인 단어일 수 있으므로 접두어로 찾는다.
+     */
+    public static boolean isPrefixTerm(String term) {
+        return !(term.length() == 2 && isHangul(term.charAt(0)) && isHangul(term.charAt(1)));
+    }
+
+    public static boolean matches(String queryTerm, String term) {
+        return isPrefixTerm(queryTerm) ? term.startsWith(queryTerm) : term.equals(queryTerm);
+    }
+
+    private static void flushWord(StringBuilder word, Set<String> terms) {
+        if (word.length() > 0) {
+            terms.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    private static void flushHangul(StringBuilder hangul, Set<String> terms) {
+        if (hangul.length() == 1) {
+            terms.add(hangul.toString());
+        }
+        for (int i = 0; i + 1 < hangul.length(); i++) {
+            terms.add(hangul.substring(i, i + 2));
+        }
+        hangul.setLength(0);
+    }
+
+    private static boolean isHangul(char c) {
+        return c >= HANGUL_BEGIN && c <= HANGUL_END;
+    }
+}
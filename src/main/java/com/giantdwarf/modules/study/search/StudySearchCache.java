@@ -0,0 +1,203 @@
+package com.giantdwarf.modules.study.search;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * 검색어, 필터, 정렬, 커서(또는 페이지) 별로 검색 결과의 스터디 id와 전체 개수를 캐시한다.
+ * 엔티티 대신 id만 보관하고, 스터디가 바뀌면 그 스터디가 결과에 있던 검색어와
+ * 바뀐 뒤 새로 매칭되는 검색어의 캐시만 지운다.
+ * facet 개수는 검색어와 필터 별로 따로 두고, 색인 버전이 바뀌면 버린다.
+ */
+@Component
+public class StudySearchCache implements MeterBinder {
+
+    static final int MAXIMUM_SIZE = 1000;
+    static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            if (size() > MAXIMUM_SIZE) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private final Map<Key, FacetsEntry> facets = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, FacetsEntry> eldest) {
+            return size() > MAXIMUM_SIZE;
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong();
+
+    public static Key key(String keyword, StudySearchFilter filter, String sortProperty, String position, int size) {
+        return new Key(normalize(keyword), filter.cacheKey(), sortProperty, position, size);
+    }
+
+    public static Key facetsKey(String keyword, StudySearchFilter filter) {
+        return new Key(normalize(keyword), filter.cacheKey(), "facets", "", 0);
+    }
+
+    public static String normalize(String keyword) {
+        return Objects.isNull(keyword) ? "" : keyword.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    public synchronized Entry get(Key key) {
+        Entry entry = entries.get(key);
+        if (Objects.isNull(entry)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (entry.isExpired()) {
+            entries.remove(key);
+            expirations.incrementAndGet();
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry;
+    }
+
+    /**
+     * 검색을 시작할 때 받은 generation 이후에 무효화가 있었다면 오래된 결과일 수 있으므로 저장하지 않는다.
+     */
+    public synchronized void put(Key key, long startGeneration, Set<Long> matchedIds, List<Long> studyIds, Long totalElements) {
+        if (startGeneration != generation.get()) {
+            return;
+        }
+        entries.put(key, new Entry(Collections.unmodifiableSet(matchedIds), List.copyOf(studyIds), totalElements,
+                System.nanoTime() + TIME_TO_LIVE.toNanos()));
+    }
+
+    /**
+     * 색인 버전이 계산할 때와 다르면 오래된 개수이므로 버린다.
+     */
+    public synchronized StudyFacets getFacets(Key key, long indexVersion) {
+        FacetsEntry entry = facets.get(key);
+        if (Objects.isNull(entry) || entry.getIndexVersion() != indexVersion) {
+            facets.remove(key);
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.getFacets();
+    }
+
+    public synchronized void putFacets(Key key, long indexVersion, StudyFacets studyFacets) {
+        facets.put(key, new FacetsEntry(indexVersion, studyFacets));
+    }
+
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    public synchronized void invalidate(Long studyId, Predicate<String> matchesKeyword) {
+        generation.incrementAndGet();
+        Map<String, Boolean> matchedKeywords = new HashMap<>();
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry> cached = iterator.next();
+            String keyword = cached.getKey().getKeyword();
+            if (cached.getValue().getMatchedIds().contains(studyId)
+                    || matchedKeywords.computeIfAbsent(keyword, matchesKeyword::test)) {
+                iterator.remove();
+                invalidations.incrementAndGet();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+        facets.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("study.search.cache.hits", hits, AtomicLong::get).register(registry);
+        FunctionCounter.builder("study.search.cache.misses", misses, AtomicLong::get).register(registry);
+        FunctionCounter.builder("study.search.cache.evictions", evictions, AtomicLong::get).register(registry);
+        FunctionCounter.builder("study.search.cache.expirations", expirations, AtomicLong::get).register(registry);
+        FunctionCounter.builder("study.search.cache.invalidations", invalidations, AtomicLong::get).register(registry);
+        Gauge.builder("study.search.cache.size", this, StudySearchCache::size).register(registry);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    public static class Key {
+
+        private final String keyword;
+
+        private final String filter;
+
+        private final String sortProperty;
+
+        private final String position;
+
+        private final int size;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class FacetsEntry {
+
+        private final long indexVersion;
+
+        private final StudyFacets facets;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Entry {
+
+        private final Set<Long> matchedIds;
+
+        private final List<Long> studyIds;
+
+        private final Long totalElements;
+
+        private final long expiresAt;
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
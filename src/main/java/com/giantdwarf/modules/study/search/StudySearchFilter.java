@@ -0,0 +1,26 @@
+package com.giantdwarf.modules.study.search;
+
+import lombok.Data;
+
+import java.util.Objects;
+
+/**
+ * 검색 결과를 좁히는 태그, 지역, 시/도 조건. 요청 파라미터 tag, zone, province로 받는다.
+ */
+@Data
+public class StudySearchFilter {
+
+    private Long tag;
+
+    private Long zone;
+
+    private String province;
+
+    public boolean isEmpty() {
+        return Objects.isNull(tag) && Objects.isNull(zone) && (Objects.isNull(province) || province.isBlank());
+    }
+
+    public String cacheKey() {
+        return tag + "|" + zone + "|" + province;
+    }
+}
@@ -0,0 +1,520 @@
+package com.giantdwarf.modules.study.search;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * 공개된 스터디의 제목, 짧은 소개, 태그, 지역 이름으로 만든 역색인.
+ * term은 {@link StudySearchAnalyzer}가 만든 영문 단어와 한글 bigram이고, 검색어의 term마다 미리 만들어 둔
+ * posting을 모아 교집합을 구하므로 검색 비용은 스터디 테이블 크기가 아니라 매칭되는 스터디 수에 비례한다.
+ * 태그, 지역, 시/도 마다 스터디 번호의 BitSet을 같이 유지해서 필터를 비트 연산으로 구한다.
+ * term마다 어느 필드(제목, 태그, 지역, 소개)에서 나왔는지 기억해 두었다가 정확도 순 정렬에 쓴다.
+ */
+@Component
+public class StudySearchIndex {
+
+    private static final int FACET_SIZE = 10;
+
+    //최신성, 멤버 수, 모집 여부로 더하는 점수의 상한. fieldWeight의 가장 작은 차이보다 작아야 한다.
+    private static final double MAX_BONUS = 1.5;
+
+    private static final int TITLE = 1;
+    private static final int TAG = 1 << 1;
+    private static final int ZONE = 1 << 2;
+    private static final int DESCRIPTION = 1 << 3;
+
+    private final ConcurrentNavigableMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+
+    //스터디 id -> (term -> term이 나온 필드의 비트 마스크)
+    private final Map<Long, Map<String, Integer>> documents = new ConcurrentHashMap<>();
+
+    private final Map<Long, RankingStats> rankingStats = new ConcurrentHashMap<>();
+
+    //BitSet에 쓰는 스터디 번호. 아래 facet 필드는 색인을 바꿀 때는 쓰기 잠금, 필터와 facet을 셀 때는 읽기 잠금 안에서만 다룬다.
+    private final Map<Long, Integer> docNumbers = new HashMap<>();
+
+    private final List<Long> studyIdsByDocNumber = new ArrayList<>();
+
+    private final Map<Long, BitSet> tagBits = new HashMap<>();
+
+    private final Map<Long, BitSet> zoneBits = new HashMap<>();
+
+    private final Map<String, BitSet> provinceBits = new HashMap<>();
+
+    private final Map<Long, String> tagLabels = new HashMap<>();
+
+    private final Map<Long, String> zoneLabels = new HashMap<>();
+
+    private final Map<Long, FacetValues> facetValues = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    //색인이 바뀔 때마다 올린다. facet 캐시가 이 값으로 오래된 결과를 가려낸다.
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile boolean ready;
+
+    public void index(StudyDocument study) {
+        lock.writeLock().lock();
+        try {
+            remove(study.getId());
+            if (study.isPublished()) {
+                add(study);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long studyId) {
+        lock.writeLock().lock();
+        try {
+            version.incrementAndGet();
+            Map<String, Integer> terms = documents.remove(studyId);
+            rankingStats.remove(studyId);
+            if (Objects.isNull(terms)) {
+                return;
+            }
+            terms.keySet().forEach(term -> postings.computeIfPresent(term, (t, studyIds) -> {
+                studyIds.remove(studyId);
+                return studyIds.isEmpty() ? null : studyIds;
+            }));
+            removeFacets(studyId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(StudyDocument study) {
+
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, study.getTitle(), TITLE);
+        addTerms(terms, study.getShortDescription(), DESCRIPTION);
+        study.getTags().forEach(tag -> addTerms(terms, tag.getTitle(), TAG));
+        study.getZones().forEach(zone -> {
+            addTerms(terms, zone.getLocalNameOfCity(), ZONE);
+            addTerms(terms, zone.getCity(), ZONE);
+        });
+
+        terms.keySet().forEach(term -> postings.computeIfAbsent(term, t -> ConcurrentHashMap.newKeySet()).add(study.getId()));
+        documents.put(study.getId(), terms);
+        rankingStats.put(study.getId(), new RankingStats(study.getPublishedDateTime(), study.getMemberCount(), study.isRecruiting()));
+        indexFacets(study);
+    }
+
+    /**
+     * 가입, 탈퇴는 매칭되는 term을 바꾸지 않으므로 정렬과 점수에 쓰는 멤버 수만 고친다.
+     */
+    public void updateMemberCount(Long studyId, int delta) {
+        rankingStats.computeIfPresent(studyId, (id, stats) -> stats.withMemberCount(Math.max(0, stats.memberCount + delta)));
+    }
+
+    public Set<Long> search(String keyword) {
+        List<String> queryTerms = StudySearchAnalyzer.analyze(keyword);
+        if (queryTerms.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        Set<Long> result = null;
+        for (String queryTerm : queryTerms) {
+            Set<Long> matched = new HashSet<>();
+            if (StudySearchAnalyzer.isPrefixTerm(queryTerm)) {
+                postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, true)
+                        .values()
+                        .forEach(matched::addAll);
+            } else {
+                matched.addAll(postings.getOrDefault(queryTerm, Collections.emptySet()));
+            }
+            if (Objects.isNull(result)) {
+                result = matched;
+            } else {
+                result.retainAll(matched);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    public boolean matches(String keyword, Long studyId) {
+        Map<String, Integer> terms = documents.get(studyId);
+        List<String> queryTerms = StudySearchAnalyzer.analyze(keyword);
+        if (Objects.isNull(terms) || queryTerms.isEmpty()) {
+            return false;
+        }
+        return queryTerms.stream().allMatch(queryTerm -> terms.keySet().stream().anyMatch(term -> StudySearchAnalyzer.matches(queryTerm, term)));
+    }
+
+    /**
+     * 검색된 스터디 중 점수가 높은 limit개의 id를 점수 순서로 돌려준다.
+     * 크기가 limit인 힙만 유지하므로 비용은 검색된 스터디 수에만 비례하고 전체 스터디 수와는 상관없다.
+     */
+    public List<Long> rank(String keyword, Set<Long> studyIds, int limit, LocalDateTime now) {
+        List<String> queryTerms = StudySearchAnalyzer.analyze(keyword);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        Comparator<Scored> order = Comparator.comparingDouble(Scored::getScore).thenComparing(Scored::getStudyId);
+        PriorityQueue<Scored> top = new PriorityQueue<>(order);
+        for (Long studyId : studyIds) {
+            Map<String, Integer> terms = documents.get(studyId);
+            RankingStats stats = rankingStats.get(studyId);
+            if (Objects.isNull(terms) || Objects.isNull(stats)) {
+                continue;
+            }
+            top.offer(new Scored(studyId, textScore(queryTerms, terms) + stats.score(now)));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Long> ranked = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ranked.add(top.poll().getStudyId());
+        }
+        Collections.reverse(ranked);
+        return ranked;
+    }
+
+    /**
+     * 정렬 기준(공개일 또는 멤버 수)과 id 순으로 offset 다음부터 limit개의 id를 돌려준다. DB에는 이 한 페이지의 id만 넘긴다.
+     */
+    public List<Long> sort(Set<Long> studyIds, String sortProperty, boolean ascending, int offset, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        Comparator<SortKey> order = ascending ? SortKey.order(sortProperty).reversed() : SortKey.order(sortProperty);
+        List<SortKey> top = top(sortKeys(studyIds), order, offset + limit);
+        return top.size() > offset ? ids(top.subList(offset, top.size())) : Collections.emptyList();
+    }
+
+    /**
+     * 커서 다음(이전 페이지면 커서 앞)의 limit개 id를 화면에 보일 순서로 돌려준다. 순서는 커서 조회 SQL과 같은 (정렬 값, id) 내림차순이다.
+     */
+    public List<Long> seek(Set<Long> studyIds, StudyCursor cursor, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        Comparator<SortKey> order = SortKey.order(cursor.getSortProperty());
+        List<SortKey> keys = sortKeys(studyIds);
+        if (!cursor.isFirst()) {
+            SortKey position = new SortKey(cursor.getId(), cursor.getPublishedDateTime(),
+                    Objects.isNull(cursor.getMemberCount()) ? 0 : cursor.getMemberCount());
+            keys.removeIf(key -> cursor.isBackward() ? order.compare(key, position) >= 0 : order.compare(key, position) <= 0);
+        }
+        if (!cursor.isBackward()) {
+            return ids(top(keys, order, limit));
+        }
+        List<SortKey> previous = top(keys, order.reversed(), limit);
+        Collections.reverse(previous);
+        return ids(previous);
+    }
+
+    public Set<Long> filter(Set<Long> studyIds, StudySearchFilter filter) {
+        if (filter.isEmpty()) {
+            return studyIds;
+        }
+        lock.readLock().lock();
+        try {
+            BitSet bits = toBits(studyIds);
+            if (!Objects.isNull(filter.getTag())) {
+                bits.and(tagBits.getOrDefault(filter.getTag(), new BitSet()));
+            }
+            if (!Objects.isNull(filter.getZone())) {
+                bits.and(zoneBits.getOrDefault(filter.getZone(), new BitSet()));
+            }
+            if (!Objects.isNull(filter.getProvince()) && !filter.getProvince().isBlank()) {
+                bits.and(provinceBits.getOrDefault(filter.getProvince(), new BitSet()));
+            }
+            return toStudyIds(bits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 결과 집합의 스터디마다 태그, 지역, 시/도를 한 번씩 세고 많은 순서로 FACET_SIZE개씩 돌려준다.
+     * facet 값마다 BitSet을 복사하지 않으므로 비용은 결과 크기에 비례하고, 읽기 잠금이라 다른 검색을 막지 않는다.
+     */
+    public StudyFacets facets(Set<Long> studyIds) {
+        if (studyIds.isEmpty()) {
+            return StudyFacets.empty();
+        }
+        Map<Long, Integer> tagCounts = new HashMap<>();
+        Map<Long, Integer> zoneCounts = new HashMap<>();
+        Map<String, Integer> provinceCounts = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            studyIds.forEach(studyId -> {
+                FacetValues values = facetValues.get(studyId);
+                if (!Objects.isNull(values)) {
+                    values.tagIds.forEach(tagId -> tagCounts.merge(tagId, 1, Integer::sum));
+                    values.zoneIds.forEach(zoneId -> zoneCounts.merge(zoneId, 1, Integer::sum));
+                    values.provinces.forEach(province -> provinceCounts.merge(province, 1, Integer::sum));
+                }
+            });
+            return new StudyFacets(
+                    count(tagCounts, Object::toString, tagLabels::get),
+                    count(zoneCounts, Object::toString, zoneLabels::get),
+                    count(provinceCounts, Function.identity(), Function.identity()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            this.ready = false;
+            version.incrementAndGet();
+            postings.clear();
+            documents.clear();
+            rankingStats.clear();
+            docNumbers.clear();
+            studyIdsByDocNumber.clear();
+            tagBits.clear();
+            zoneBits.clear();
+            provinceBits.clear();
+            tagLabels.clear();
+            zoneLabels.clear();
+            facetValues.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public void markReady() {
+        this.ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    private List<SortKey> sortKeys(Set<Long> studyIds) {
+        List<SortKey> keys = new ArrayList<>(studyIds.size());
+        for (Long studyId : studyIds) {
+            RankingStats stats = rankingStats.get(studyId);
+            if (!Objects.isNull(stats)) {
+                keys.add(new SortKey(studyId, stats.publishedDateTime, stats.memberCount));
+            }
+        }
+        return keys;
+    }
+
+    //크기가 limit인 힙만 유지하므로 비용은 검색된 스터디 수에만 비례한다.
+    private static List<SortKey> top(List<SortKey> keys, Comparator<SortKey> order, int limit) {
+        PriorityQueue<SortKey> top = new PriorityQueue<>(order.reversed());
+        for (SortKey key : keys) {
+            top.offer(key);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<SortKey> sorted = new ArrayList<>(top);
+        sorted.sort(order);
+        return sorted;
+    }
+
+    private static List<Long> ids(List<SortKey> keys) {
+        List<Long> ids = new ArrayList<>(keys.size());
+        keys.forEach(key -> ids.add(key.getStudyId()));
+        return ids;
+    }
+
+    private void addTerms(Map<String, Integer> terms, String text, int field) {
+        StudySearchAnalyzer.analyze(text).forEach(term -> terms.merge(term, field, (a, b) -> a | b));
+    }
+
+    //검색어의 term마다 가장 무거운 필드에서 매칭된 가중치를 더한다. 제목 > 태그 > 지역 > 소개 순이다.
+    private double textScore(List<String> queryTerms, Map<String, Integer> terms) {
+        double score = 0;
+        for (String queryTerm : queryTerms) {
+            int fields = 0;
+            if (StudySearchAnalyzer.isPrefixTerm(queryTerm)) {
+                for (Map.Entry<String, Integer> term : terms.entrySet()) {
+                    if (term.getKey().startsWith(queryTerm)) {
+                        fields |= term.getValue();
+                    }
+                }
+            } else {
+                fields = terms.getOrDefault(queryTerm, 0);
+            }
+            score += fieldWeight(fields);
+        }
+        return score;
+    }
+
+    private static double fieldWeight(int fields) {
+        if ((fields & TITLE) != 0) {
+            return 16;
+        }
+        if ((fields & TAG) != 0) {
+            return 8;
+        }
+        if ((fields & ZONE) != 0) {
+            return 4;
+        }
+        return (fields & DESCRIPTION) != 0 ? 2 : 0;
+    }
+
+    private void indexFacets(StudyDocument study) {
+        int docNumber = docNumbers.computeIfAbsent(study.getId(), id -> {
+            studyIdsByDocNumber.add(id);
+            return studyIdsByDocNumber.size() - 1;
+        });
+        FacetValues values = new FacetValues();
+        study.getTags().forEach(tag -> {
+            tagBits.computeIfAbsent(tag.getId(), id -> new BitSet()).set(docNumber);
+            tagLabels.put(tag.getId(), tag.getTitle());
+            values.tagIds.add(tag.getId());
+        });
+        study.getZones().forEach(zone -> {
+            zoneBits.computeIfAbsent(zone.getId(), id -> new BitSet()).set(docNumber);
+            zoneLabels.put(zone.getId(), zone.getLocalNameOfCity());
+            values.zoneIds.add(zone.getId());
+            if (!Objects.isNull(zone.getProvince()) && !zone.getProvince().isBlank()) {
+                provinceBits.computeIfAbsent(zone.getProvince(), province -> new BitSet()).set(docNumber);
+                values.provinces.add(zone.getProvince());
+            }
+        });
+        facetValues.put(study.getId(), values);
+    }
+
+    private void removeFacets(Long studyId) {
+        FacetValues values = facetValues.remove(studyId);
+        Integer docNumber = docNumbers.get(studyId);
+        if (Objects.isNull(values) || Objects.isNull(docNumber)) {
+            return;
+        }
+        values.tagIds.forEach(tagId -> clearBit(tagBits, tagId, docNumber, tagLabels));
+        values.zoneIds.forEach(zoneId -> clearBit(zoneBits, zoneId, docNumber, zoneLabels));
+        values.provinces.forEach(province -> clearBit(provinceBits, province, docNumber, null));
+    }
+
+    private <K> void clearBit(Map<K, BitSet> bitsByValue, K value, int docNumber, Map<K, String> labels) {
+        BitSet bits = bitsByValue.get(value);
+        if (Objects.isNull(bits)) {
+            return;
+        }
+        bits.clear(docNumber);
+        if (bits.isEmpty()) {
+            bitsByValue.remove(value);
+            if (!Objects.isNull(labels)) {
+                labels.remove(value);
+            }
+        }
+    }
+
+    private <K> List<StudyFacets.Count> count(Map<K, Integer> countByValue,
+                                              Function<K, String> value,
+                                              Function<K, String> label) {
+        List<StudyFacets.Count> counts = new ArrayList<>(countByValue.size());
+        countByValue.forEach((key, count) -> counts.add(new StudyFacets.Count(value.apply(key), label.apply(key), count)));
+        counts.sort(Comparator.comparingInt(StudyFacets.Count::getCount).reversed()
+                .thenComparing(StudyFacets.Count::getLabel));
+        return counts.size() > FACET_SIZE ? new ArrayList<>(counts.subList(0, FACET_SIZE)) : counts;
+    }
+
+    private BitSet toBits(Set<Long> studyIds) {
+        BitSet bits = new BitSet(studyIdsByDocNumber.size());
+        studyIds.forEach(studyId -> {
+            Integer docNumber = docNumbers.get(studyId);
+            if (!Objects.isNull(docNumber)) {
+                bits.set(docNumber);
+            }
+        });
+        return bits;
+    }
+
+    private Set<Long> toStudyIds(BitSet bits) {
+        Set<Long> studyIds = new HashSet<>();
+        bits.stream().forEach(docNumber -> studyIds.add(studyIdsByDocNumber.get(docNumber)));
+        return studyIds;
+    }
+
+    private static class FacetValues {
+
+        private final Set<Long> tagIds = new HashSet<>();
+
+        private final Set<Long> zoneIds = new HashSet<>();
+
+        private final Set<String> provinces = new HashSet<>();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class Scored {
+
+        private final Long studyId;
+
+        private final double score;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class SortKey {
+
+        private final Long studyId;
+
+        private final LocalDateTime publishedDateTime;
+
+        private final int memberCount;
+
+        //정렬 값, id 내림차순. 공개일이 없으면 가장 오래된 것으로 본다.
+        static Comparator<SortKey> order(String sortProperty) {
+            Comparator<SortKey> byValue = StudyCursor.MEMBER_COUNT.equals(sortProperty)
+                    ? Comparator.comparingInt(SortKey::getMemberCount)
+                    : Comparator.comparing(SortKey::getPublishedDateTime, Comparator.nullsFirst(Comparator.naturalOrder()));
+            return byValue.thenComparing(SortKey::getStudyId).reversed();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class RankingStats {
+
+        private final LocalDateTime publishedDateTime;
+
+        private final int memberCount;
+
+        private final boolean recruiting;
+
+        //최신성, 멤버 수, 모집 여부를 각각 0.5 미만으로 더한다. 합이 필드 가중치의 가장 작은 차이(2)보다 작아서 검색어 매칭 순서를 뒤집지 않는다.
+        //공개한 지 30일이면 최신성 점수가 절반이 되고, 멤버가 10명이면 멤버 수 점수가 절반이 된다.
+        double score(LocalDateTime now) {
+            double recency = 0;
+            if (!Objects.isNull(publishedDateTime)) {
+                long days = Math.max(0, ChronoUnit.DAYS.between(publishedDateTime, now));
+                recency = 1 / (1 + days / 30.0);
+            }
+            double popularity = memberCount / (memberCount + 10.0);
+            return (recency + popularity + (recruiting ? 1 : 0)) * MAX_BONUS / 3;
+        }
+
+        RankingStats withMemberCount(int memberCount) {
+            return new RankingStats(publishedDateTime, memberCount, recruiting);
+        }
+    }
+}
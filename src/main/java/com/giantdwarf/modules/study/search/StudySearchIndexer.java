@@ -0,0 +1,74 @@
+package com.giantdwarf.modules.study.search;
+
+import com.giantdwarf.modules.study.StudyRepository;
+import com.giantdwarf.modules.study.event.StudyChangedEvent;
+import com.giantdwarf.modules.study.event.StudyMemberCountChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+@Slf4j
+@Async
+@Component
+@RequiredArgsConstructor
+public class StudySearchIndexer {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final StudyRepository studyRepository;
+    private final StudySearchIndex studySearchIndex;
+    private final StudySuggestionIndex studySuggestionIndex;
+    private final StudySearchCache studySearchCache;
+
+    /**
+     * 배치마다 저장소 호출이 각자 짧은 읽기 전용 트랜잭션으로 끝나고, 엔티티 대신 색인에 쓰는 값만 읽으므로
+     * 다시 만드는 동안 영속성 컨텍스트에 스터디가 쌓이지 않는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        studySearchIndex.clear();
+        studySuggestionIndex.clear();
+        long lastId = 0L;
+        List<Long> ids = studyRepository.findPublishedIdsAfter(lastId, REBUILD_BATCH_SIZE);
+        while (!ids.isEmpty()) {
+            studyRepository.findDocumentsByIdIn(ids).forEach(document -> {
+                studySearchIndex.index(document);
+                studySuggestionIndex.index(document);
+            });
+            lastId = ids.get(ids.size() - 1);
+            ids = studyRepository.findPublishedIdsAfter(lastId, REBUILD_BATCH_SIZE);
+        }
+        studySearchIndex.markReady();
+        studySearchCache.clear();
+        log.info("study search index rebuilt with {} studies", studySearchIndex.size());
+    }
+
+    @TransactionalEventListener
+    public void handleStudyChangedEvent(StudyChangedEvent studyChangedEvent) {
+        Long studyId = studyChangedEvent.getStudy().getId();
+        List<StudyDocument> documents = studyRepository.findDocumentsByIdIn(List.of(studyId));
+        if (documents.isEmpty()) {
+            studySearchIndex.remove(studyId);
+            studySuggestionIndex.remove(studyId);
+        } else {
+            studySearchIndex.index(documents.get(0));
+            studySuggestionIndex.index(documents.get(0));
+        }
+        //색인을 바꾼 뒤에 무효화해야 바뀐 스터디가 새로 매칭되는 검색어를 찾을 수 있다.
+        studySearchCache.invalidate(studyId, keyword -> studySearchIndex.matches(keyword, studyId));
+    }
+
+    //매칭되는 검색어는 그대로이므로 색인은 멤버 수만 고치고, 이 스터디가 결과에 있던 캐시만 지운다.
+    @TransactionalEventListener
+    public void handleStudyMemberCountChangedEvent(StudyMemberCountChangedEvent studyMemberCountChangedEvent) {
+        Long studyId = studyMemberCountChangedEvent.getStudyId();
+        studySearchIndex.updateMemberCount(studyId, studyMemberCountChangedEvent.getDelta());
+        studySearchCache.invalidate(studyId, keyword -> false);
+    }
+}
@@ -0,0 +1,122 @@
+package com.giantdwarf.modules.study.search;
+
+import com.giantdwarf.modules.study.StudyCard;
+import com.giantdwarf.modules.study.StudyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class StudySearchService {
+
+    public static final String RELEVANCE = "relevance";
+
+    private final StudySearchIndex studySearchIndex;
+    private final StudySearchCache studySearchCache;
+    private final StudyRepository studyRepository;
+
+    public Page<StudyCard> search(String keyword, StudySearchFilter filter, Pageable pageable) {
+        //인덱스를 다시 만드는 중에는 DB 검색으로 대신한다.
+        if (!studySearchIndex.isReady()) {
+            return studyRepository.findByKeyword(keyword, filter, pageable);
+        }
+
+        StudySearchCache.Key key = StudySearchCache.key(keyword, filter, pageable.getSort().toString(),
+                "page:" + pageable.getPageNumber(), pageable.getPageSize());
+        StudySearchCache.Entry cached = studySearchCache.get(key);
+        if (!Objects.isNull(cached)) {
+            return new PageImpl<>(studyRepository.findCardsByIdIn(cached.getStudyIds()), pageable, cached.getTotalElements());
+        }
+
+        long generation = studySearchCache.currentGeneration();
+        Set<Long> matchedIds = studySearchIndex.search(keyword);
+        Set<Long> studyIds = studySearchIndex.filter(matchedIds, filter);
+        //정렬과 페이징도 색인에서 해서 DB의 in 절에는 한 페이지의 id만 묶는다.
+        Sort.Order order = pageable.getSort().stream().findFirst()
+                .orElse(Sort.Order.desc(StudyCursor.PUBLISHED_DATE_TIME));
+        List<Long> pageIds = studySearchIndex.sort(studyIds, order.getProperty(), order.isAscending(),
+                (int) pageable.getOffset(), pageable.getPageSize());
+        //필터와 상관없이 검색어에 매칭된 id를 남겨야 태그나 지역이 바뀐 스터디의 캐시도 지울 수 있다.
+        studySearchCache.put(key, generation, matchedIds, pageIds, (long) studyIds.size());
+        return new PageImpl<>(studyRepository.findCardsByIdIn(pageIds), pageable, studyIds.size());
+    }
+
+    /**
+     * 검색어가 어느 필드에 매칭됐는지와 최신성, 멤버 수, 모집 여부로 점수를 매겨 정렬한다.
+     * 요청한 페이지까지의 상위 (page + 1) * size 개만 색인에서 골라낸다.
+     */
+    public Page<StudyCard> searchByRelevance(String keyword, StudySearchFilter filter, Pageable pageable) {
+        if (!studySearchIndex.isReady()) {
+            Pageable byPublishedDateTime = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                    Sort.by(Sort.Direction.DESC, "publishedDateTime"));
+            return studyRepository.findByKeyword(keyword, filter, byPublishedDateTime);
+        }
+
+        StudySearchCache.Key key = StudySearchCache.key(keyword, filter, RELEVANCE,
+                "page:" + pageable.getPageNumber(), pageable.getPageSize());
+        StudySearchCache.Entry cached = studySearchCache.get(key);
+        if (!Objects.isNull(cached)) {
+            return new PageImpl<>(studyRepository.findCardsByIdIn(cached.getStudyIds()), pageable, cached.getTotalElements());
+        }
+
+        long generation = studySearchCache.currentGeneration();
+        Set<Long> matchedIds = studySearchIndex.search(keyword);
+        Set<Long> studyIds = studySearchIndex.filter(matchedIds, filter);
+        List<Long> ranked = studySearchIndex.rank(keyword, studyIds, (int) pageable.getOffset() + pageable.getPageSize(), LocalDateTime.now());
+        List<Long> pageIds = ranked.size() > pageable.getOffset()
+                ? ranked.subList((int) pageable.getOffset(), ranked.size())
+                : Collections.emptyList();
+        studySearchCache.put(key, generation, matchedIds, pageIds, (long) studyIds.size());
+        return new PageImpl<>(studyRepository.findCardsByIdIn(pageIds), pageable, studyIds.size());
+    }
+
+    public StudySlice searchByCursor(String keyword, StudySearchFilter filter, StudyCursor cursor, int size) {
+        if (!studySearchIndex.isReady()) {
+            List<StudyCard> studies = studyRepository.findByKeywordAndCursor(keyword, filter, cursor, size + 1);
+            return StudySlice.of(studies, cursor, size, null);
+        }
+
+        StudySearchCache.Key key = StudySearchCache.key(keyword, filter, cursor.getSortProperty(),
+                cursor.isFirst() ? "cursor:first" : "cursor:" + cursor.encode(), size);
+        StudySearchCache.Entry cached = studySearchCache.get(key);
+        if (!Objects.isNull(cached)) {
+            return StudySlice.of(studyRepository.findCardsByIdIn(cached.getStudyIds()), cursor, size, cached.getTotalElements());
+        }
+
+        long generation = studySearchCache.currentGeneration();
+        Set<Long> matchedIds = studySearchIndex.search(keyword);
+        Set<Long> studyIds = studySearchIndex.filter(matchedIds, filter);
+        List<Long> sliceIds = studySearchIndex.seek(studyIds, cursor, size + 1);
+        studySearchCache.put(key, generation, matchedIds, sliceIds, (long) studyIds.size());
+        return StudySlice.of(studyRepository.findCardsByIdIn(sliceIds), cursor, size, (long) studyIds.size());
+    }
+
+    /**
+     * 필터까지 적용한 검색 결과의 태그, 지역, 시/도 별 개수. 메모리 색인으로만 계산하고 DB는 조회하지 않는다.
+     * 색인이 바뀌기 전까지는 같은 검색어와 필터의 개수를 다시 세지 않는다.
+     */
+    public StudyFacets getFacets(String keyword, StudySearchFilter filter) {
+        if (!studySearchIndex.isReady()) {
+            return StudyFacets.empty();
+        }
+        StudySearchCache.Key key = StudySearchCache.facetsKey(keyword, filter);
+        long indexVersion = studySearchIndex.version();
+        StudyFacets cached = studySearchCache.getFacets(key, indexVersion);
+        if (!Objects.isNull(cached)) {
+            return cached;
+        }
+        StudyFacets facets = studySearchIndex.facets(studySearchIndex.filter(studySearchIndex.search(keyword), filter));
+        studySearchCache.putFacets(key, indexVersion, facets);
+        return facets;
+    }
+}
@@ -0,0 +1,59 @@
+package com.giantdwarf.modules.study.search;
+
+import com.giantdwarf.modules.study.StudyCard;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Objects;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class StudySlice {
+
+    private final List<StudyCard> content;
+
+    private final String sortProperty;
+
+    private final String previousCursor;
+
+    private final String nextCursor;
+
+    private final Long totalElements;
+
+    /**
+     * 커서 방향으로 size + 1개를 조회한 결과에서 한 페이지를 잘라내고 이전, 다음 커서를 만든다.
+     * totalElements를 모르면 null을 넘기고, 이때는 다음 페이지가 있는지만 알려준다.
+     */
+    public static StudySlice of(List<StudyCard> studies, StudyCursor cursor, int size, Long totalElements) {
+        boolean hasMore = studies.size() > size;
+        List<StudyCard> content = studies;
+        if (hasMore) {
+            content = cursor.isBackward() ? studies.subList(studies.size() - size, studies.size()) : studies.subList(0, size);
+        }
+
+        boolean hasPrevious = cursor.isBackward() ? hasMore : !cursor.isFirst();
+        boolean hasNext = cursor.isBackward() || hasMore;
+        String sortProperty = cursor.getSortProperty();
+        String previousCursor = null;
+        String nextCursor = null;
+        if (!content.isEmpty()) {
+            previousCursor = hasPrevious ? StudyCursor.before(sortProperty, content.get(0)).encode() : null;
+            nextCursor = hasNext ? StudyCursor.after(sortProperty, content.get(content.size() - 1)).encode() : null;
+        }
+        return new StudySlice(content, sortProperty, previousCursor, nextCursor, totalElements);
+    }
+
+    public boolean hasPrevious() {
+        return !Objects.isNull(previousCursor);
+    }
+
+    public boolean hasNext() {
+        return !Objects.isNull(nextCursor);
+    }
+
+    public boolean hasTotalElements() {
+        return !Objects.isNull(totalElements);
+    }
+}
@@ -0,0 +1,178 @@
+package com.giantdwarf.modules.study.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 검색창 자동완성에 쓰는 접두어 색인.
+ * 공개된 스터디의 제목, 태그, 지역 이름을 공백을 뺀 소문자 키와 초성 키로 정렬해 두고
+ * 입력한 접두어 범위만 훑어서 많이 쓰인 순서로 돌려준다. "ㅈㅂ", "자ㅂ" 처럼 초성이 섞인 입력도 찾는다.
+ */
+@Component
+public class StudySuggestionIndex {
+
+    private static final char HANGUL_BEGIN = '가';
+    private static final char HANGUL_END = '힣';
+    private static final char[] CHOSEONG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    private final ConcurrentNavigableMap<String, Set<String>> byKey = new ConcurrentSkipListMap<>();
+
+    private final ConcurrentNavigableMap<String, Set<String>> byChoseong = new ConcurrentSkipListMap<>();
+
+    //제안어마다 그 제안어를 가진 공개 스터디 수. 많이 쓰인 제안어를 먼저 보여준다.
+    private final Map<String, Integer> weights = new ConcurrentHashMap<>();
+
+    private final Map<Long, Set<String>> suggestionsByStudy = new ConcurrentHashMap<>();
+
+    public synchronized void index(StudyDocument study) {
+        remove(study.getId());
+        if (!study.isPublished()) {
+            return;
+        }
+
+        Set<String> suggestions = new HashSet<>();
+        addIfPresent(suggestions, study.getTitle());
+        study.getTags().forEach(tag -> addIfPresent(suggestions, tag.getTitle()));
+        study.getZones().forEach(zone -> {
+            addIfPresent(suggestions, zone.getLocalNameOfCity());
+            addIfPresent(suggestions, zone.getCity());
+        });
+
+        suggestions.forEach(this::increase);
+        suggestionsByStudy.put(study.getId(), suggestions);
+    }
+
+    public synchronized void remove(Long studyId) {
+        Set<String> suggestions = suggestionsByStudy.remove(studyId);
+        if (!Objects.isNull(suggestions)) {
+            suggestions.forEach(this::decrease);
+        }
+    }
+
+    public synchronized void clear() {
+        byKey.clear();
+        byChoseong.clear();
+        weights.clear();
+        suggestionsByStudy.clear();
+    }
+
+    public List<String> suggest(String prefix, int size) {
+        String query = key(prefix);
+        if (query.isEmpty() || size <= 0) {
+            return Collections.emptyList();
+        }
+
+        //상위 size개만 남기도록 가장 덜 쓰인 제안어가 머리에 오는 힙을 유지한다.
+        Comparator<String> order = Comparator.<String>comparingInt(s -> weights.getOrDefault(s, 0))
+                .thenComparing(Comparator.comparingInt(String::length).reversed())
+                .thenComparing(Comparator.<String>reverseOrder());
+        PriorityQueue<String> top = new PriorityQueue<>(order);
+
+        if (query.chars().anyMatch(c -> isChoseong((char) c))) {
+            String choseongQuery = choseong(query);
+            prefixRange(byChoseong, choseongQuery).values().forEach(keys -> keys.stream()
+                    .filter(key -> matchesJamoPrefix(key, query))
+                    .forEach(key -> offerAll(top, byKey.getOrDefault(key, Collections.emptySet()), size)));
+        } else {
+            prefixRange(byKey, query).values().forEach(suggestions -> offerAll(top, suggestions, size));
+        }
+
+        List<String> result = new ArrayList<>(top);
+        result.sort(order.reversed());
+        return result;
+    }
+
+    public int size() {
+        return weights.size();
+    }
+
+    private void addIfPresent(Set<String> suggestions, String text) {
+        if (!Objects.isNull(text) && !text.isBlank()) {
+            suggestions.add(text.trim());
+        }
+    }
+
+    private void increase(String suggestion) {
+        if (weights.merge(suggestion, 1, Integer::sum) == 1) {
+            String key = key(suggestion);
+            byKey.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(suggestion);
+            byChoseong.computeIfAbsent(choseong(key), k -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+    }
+
+    private void decrease(String suggestion) {
+        if (!Objects.isNull(weights.computeIfPresent(suggestion, (s, weight) -> weight > 1 ? weight - 1 : null))) {
+            return;
+        }
+        String key = key(suggestion);
+        Set<String> remaining = byKey.computeIfPresent(key, (k, suggestions) -> {
+            suggestions.remove(suggestion);
+            return suggestions.isEmpty() ? null : suggestions;
+        });
+        if (Objects.isNull(remaining)) {
+            byChoseong.computeIfPresent(choseong(key), (k, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    private void offerAll(PriorityQueue<String> top, Set<String> suggestions, int size) {
+        for (String suggestion : suggestions) {
+            top.offer(suggestion);
+            if (top.size() > size) {
+                top.poll();
+            }
+        }
+    }
+
+    private static ConcurrentNavigableMap<String, Set<String>> prefixRange(ConcurrentNavigableMap<String, Set<String>> map, String prefix) {
+        return map.subMap(prefix, true, prefix + Character.MAX_VALUE, true);
+    }
+
+    //초성으로 입력한 글자는 초성만, 완성된 글자는 그대로 같아야 한다.
+    private static boolean matchesJamoPrefix(String key, String query) {
+        if (key.length() < query.length()) {
+            return false;
+        }
+        for (int i = 0; i < query.length(); i++) {
+            char q = query.charAt(i);
+            char c = key.charAt(i);
+            if (q != c && !(isChoseong(q) && choseong(c) == q)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String key(String text) {
+        if (Objects.isNull(text)) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT).replaceAll("\\s+", "");
+    }
+
+    static String choseong(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            builder.append(choseong(c));
+        }
+        return builder.toString();
+    }
+
+    //한글 음절은 초성 19개 x 중성 21개 x 종성 28개 순서로 배치되어 있다.
+    private static char choseong(char c) {
+        return c >= HANGUL_BEGIN && c <= HANGUL_END ? CHOSEONG[(c - HANGUL_BEGIN) / (21 * 28)] : c;
+    }
+
+    private static boolean isChoseong(char c) {
+        return Arrays.binarySearch(CHOSEONG, c) >= 0;
+    }
+}
@@ -1,19 +1,26 @@
 package com.giantdwarf.modules.tag;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter @Setter
 @EqualsAndHashCode(of = "id")
 @Builder
 @AllArgsConstructor @NoArgsConstructor
 public class Tag {
 
+    //TagRepositoryExtensionImpl.insertIfAbsent가 네이티브 쿼리에서 같은 시퀀스(hibernate_sequence)로 id를 받는다.
+    //생성 전략이나 시퀀스를 바꾸면 그 쿼리도 같이 바꿔야 한다.
     @Id @GeneratedValue
     private Long id;
 
@@ -0,0 +1,90 @@
+package com.giantdwarf.modules.tag;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
+
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+
+@Controller
+@RequiredArgsConstructor
+public class TagController {
+
+    private final TagWhitelist tagWhitelist;
+
+    /**
+     * 요청한 버전(v)이 지금 버전이면 오래 캐시하게 하고, 버전 없이 오거나 예전 버전이면 매번 ETag로 확인하게 한다.
+     * gzip 본문과 원래 본문은 ETag를 따로 쓰고, 304에도 Vary를 붙여서 중간 캐시가 인코딩별로 따로 저장하게 한다.
+     */
+    @GetMapping(TagWhitelist.URL)
+    @ResponseBody
+    public ResponseEntity<byte[]> whitelist(@RequestParam(required = false) Long v,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                            WebRequest webRequest, HttpServletResponse servletResponse) {
+        TagWhitelist.Snapshot snapshot = tagWhitelist.current();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        servletResponse.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (webRequest.checkNotModified(gzip ? snapshot.getGzipETag() : snapshot.getETag())) {
+            return null;
+        }
+
+        CacheControl cacheControl = Objects.equals(v, snapshot.getVersion())
+                ? CacheControl.maxAge(Duration.ofDays(365)).cachePrivate()
+                : CacheControl.noCache().cachePrivate();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(cacheControl);
+        if (gzip) {
+            return response.eTag(snapshot.getGzipETag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(snapshot.getGzipBody());
+        }
+        return response.eTag(snapshot.getETag()).body(snapshot.getBody());
+    }
+
+    //"gzip;q=0"은 gzip을 받지 않는다는 뜻이다. gzip이 따로 없으면 "*"의 q를 따른다.
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (Objects.isNull(acceptEncoding)) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(parts);
+            if ("gzip".equals(name) || "x-gzip".equals(name)) {
+                gzip = quality;
+            } else if ("*".equals(name)) {
+                any = quality;
+            }
+        }
+        double quality = !Objects.isNull(gzip) ? gzip : !Objects.isNull(any) ? any : 0;
+        return quality > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
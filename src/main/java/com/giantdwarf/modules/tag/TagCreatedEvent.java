@@ -0,0 +1,12 @@
+package com.giantdwarf.modules.tag;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class TagCreatedEvent {
+
+    private final String title;
+
+}
@@ -1,9 +1,20 @@
 package com.giantdwarf.modules.tag;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+
+//태그는 거의 바뀌지 않으므로 조회 결과를 쿼리 캐시에 둔다. 태그가 추가되면 하이버네이트가 쿼리 캐시를 무효화한다.
 @Transactional(readOnly = true)
-public interface TagRepository extends JpaRepository<Tag, Long> {
+public interface TagRepository extends JpaRepository<Tag, Long>, TagRepositoryExtension {
+
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Tag findByTitle(String title);
+
+    @Override
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<Tag> findAll();
 }
@@ -0,0 +1,10 @@
+package com.giantdwarf.modules.tag;
+
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional(readOnly = true)
+public interface TagRepositoryExtension {
+
+    @Transactional
+    int insertIfAbsent(String title);
+}
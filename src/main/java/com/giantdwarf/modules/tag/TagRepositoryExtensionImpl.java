@@ -0,0 +1,27 @@
+package com.giantdwarf.modules.tag;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
+
+public class TagRepositoryExtensionImpl extends QuerydslRepositorySupport implements TagRepositoryExtension {
+
+    public TagRepositoryExtensionImpl() {
+        super(Tag.class);
+    }
+
+    /**
+     * 같은 제목을 동시에 넣으면 한쪽은 unique 제약에 걸려 트랜잭션이 깨지므로, 이미 있으면 아무것도 하지 않는 upsert로 넣는다.
+     * 다른 트랜잭션이 같은 제목을 넣는 중이면 그 트랜잭션이 끝날 때까지 기다린다. 새로 넣었으면 1, 이미 있었으면 0.
+     * 네이티브 쿼리는 기본으로 2차 캐시 전체를 비우므로 Tag만 바뀐다고 알려준다.
+     * id는 Tag의 @GeneratedValue 기본값(SequenceStyleGenerator)이 쓰는 hibernate_sequence에서 받으므로 생성 전략을 바꾸면 여기도 바꿔야 한다.
+     */
+    @Override
+    public int insertIfAbsent(String title) {
+        return getEntityManager()
+                .createNativeQuery("insert into tag (id, title) values (nextval('hibernate_sequence'), :title) on conflict (title) do nothing")
+                .setParameter("title", title)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Tag.class)
+                .executeUpdate();
+    }
+}
@@ -1,9 +1,14 @@
 package com.giantdwarf.modules.tag;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 
 @Service
@@ -11,13 +16,65 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class TagService {
 
+    static final int MAXIMUM_SIZE = 10_000;
+
     private final TagRepository tagRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    //커밋된 태그만 담는다. 태그는 지우지 않으므로 한 번 들어간 값은 계속 맞다.
+    //아무 제목이나 들어올 수 있으므로 MAXIMUM_SIZE를 넘으면 가장 오래 쓰지 않은 태그부터 버린다. 읽을 때도 순서가 바뀌므로 synchronized 안에서만 다룬다.
+    private final Map<String, Tag> tagsByTitle = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Tag> eldest) {
+            return size() > MAXIMUM_SIZE;
+        }
+    };
 
+    /**
+     * 같은 새 제목이 동시에 들어와도 태그는 하나만 만들고, 실제로 만든 요청만 TagCreatedEvent를 발행한다.
+     */
     public Tag findOrCreateNew(String tagTitle) {
-        Tag tag = tagRepository.findByTitle(tagTitle);
-        if(Objects.isNull(tag)){
-            tag = tagRepository.save(Tag.builder().title(tagTitle).build());
+        Tag tag = cachedTag(tagTitle);
+        if (!Objects.isNull(tag)) {
+            return tag;
+        }
+        boolean created = tagRepository.insertIfAbsent(tagTitle) == 1;
+        tag = tagRepository.findByTitle(tagTitle);
+        if (created) {
+            eventPublisher.publishEvent(new TagCreatedEvent(tag.getTitle()));
         }
+        cacheAfterCommit(tag);
         return tag;
     }
+
+    private void cacheAfterCommit(Tag tag) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache(tag);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache(tag);
+            }
+        });
+    }
+
+    private Tag cachedTag(String tagTitle) {
+        synchronized (tagsByTitle) {
+            return tagsByTitle.get(tagTitle);
+        }
+    }
+
+    private void cache(Tag tag) {
+        synchronized (tagsByTitle) {
+            tagsByTitle.putIfAbsent(tag.getTitle(), tag);
+        }
+    }
+
+    int cachedSize() {
+        synchronized (tagsByTitle) {
+            return tagsByTitle.size();
+        }
+    }
 }
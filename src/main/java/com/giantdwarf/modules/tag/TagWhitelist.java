@@ -0,0 +1,123 @@
+package com.giantdwarf.modules.tag;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 태그 입력창의 자동완성 목록. 화면마다 모든 태그를 JSON으로 넣지 않고 /tags/whitelist 에서 따로 받는다.
+ * 시작할 때 한 번 만들고, 태그가 새로 생기면 JSON 뒤에 이어 붙이고 버전을 올린다.
+ * 직렬화, gzip 압축은 버전마다 처음 요청될 때 한 번만 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagWhitelist {
+
+    public static final String URL = "/tags/whitelist";
+
+    private final TagRepository tagRepository;
+    private final ObjectMapper objectMapper;
+
+    private final Set<String> titles = new HashSet<>();
+
+    //닫는 괄호를 뺀 JSON 배열.
+    private final StringBuilder json = new StringBuilder("[");
+
+    private long version;
+
+    private Snapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        tagRepository.findAll().forEach(tag -> add(tag.getTitle()));
+        log.info("tag whitelist loaded with {} tags", size());
+    }
+
+    @TransactionalEventListener
+    public void handleTagCreatedEvent(TagCreatedEvent tagCreatedEvent) {
+        add(tagCreatedEvent.getTitle());
+    }
+
+    public synchronized void add(String title) {
+        if (Objects.isNull(title) || !titles.add(title)) {
+            return;
+        }
+        if (json.length() > 1) {
+            json.append(',');
+        }
+        try {
+            json.append(objectMapper.writeValueAsString(title));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+        version++;
+        snapshot = null;
+    }
+
+    public synchronized Snapshot current() {
+        if (Objects.isNull(snapshot)) {
+            byte[] body = (json + "]").getBytes(StandardCharsets.UTF_8);
+            snapshot = new Snapshot(version, body, gzip(body));
+        }
+        return snapshot;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public synchronized int size() {
+        return titles.size();
+    }
+
+    //버전이 바뀌면 URL도 바뀌므로 브라우저는 같은 URL의 응답을 오래 캐시해도 된다.
+    public String getUrl() {
+        return URL + "?v=" + getVersion();
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Snapshot {
+
+        private final long version;
+
+        private final byte[] body;
+
+        private final byte[] gzipBody;
+
+        public String getETag() {
+            return "\"tags-" + version + "\"";
+        }
+
+        //같은 버전이라도 gzip 본문은 바이트가 다르므로 ETag를 따로 둔다.
+        public String getGzipETag() {
+            return "\"tags-" + version + "-gzip\"";
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.giantdwarf.modules.zone;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 시작할 때 한 번 읽은 지역 목록. 지역은 zones_kr.csv로만 들어오고 바뀌지 않으므로
+ * (도시, 도) 와 id로 찾는 맵과 태그 입력창에 넣을 whitelist JSON을 미리 만들어 두고 DB를 다시 보지 않는다.
+ * 여기서 돌려주는 Zone은 준영속 상태이므로 연관관계에 넣는 용도로만 쓴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ZoneRegistry {
+
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyList(), "[]");
+
+    void load(List<Zone> zones) throws JsonProcessingException {
+        List<String> names = zones.stream().map(Zone::toString).collect(Collectors.toList());
+        this.snapshot = new Snapshot(List.copyOf(zones), objectMapper.writeValueAsString(names));
+    }
+
+    public Zone find(String city, String province) {
+        return snapshot.byCityAndProvince.get(key(city, province));
+    }
+
+    public Zone findById(Long id) {
+        return snapshot.byId.get(id);
+    }
+
+    public List<Zone> getZones() {
+        return snapshot.zones;
+    }
+
+    public String getWhitelistJson() {
+        return snapshot.whitelistJson;
+    }
+
+    private static String key(String city, String province) {
+        return city + "/" + province;
+    }
+
+    private static class Snapshot {
+
+        private final List<Zone> zones;
+
+        private final Map<String, Zone> byCityAndProvince = new HashMap<>();
+
+        private final Map<Long, Zone> byId = new HashMap<>();
+
+        private final String whitelistJson;
+
+        Snapshot(List<Zone> zones, String whitelistJson) {
+            this.zones = zones;
+            this.whitelistJson = whitelistJson;
+            zones.forEach(zone -> {
+                byCityAndProvince.put(key(zone.getCity(), zone.getProvince()), zone);
+                if (!Objects.isNull(zone.getId())) {
+                    byId.put(zone.getId(), zone);
+                }
+            });
+        }
+    }
+}
@@ -1,7 +1,18 @@
 package com.giantdwarf.modules.zone;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+
+//지역은 시작할 때 한 번 넣고 바뀌지 않으므로 조회 결과를 쿼리 캐시에 둔다.
 public interface ZoneRepository extends JpaRepository<Zone, Long> {
+
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Zone findByCityAndProvince(String cityName, String provinceName);
+
+    @Override
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<Zone> findAll();
 }
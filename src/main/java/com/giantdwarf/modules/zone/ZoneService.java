@@ -20,6 +20,7 @@ import java.util.stream.Collectors;
 public class ZoneService {
 
     private final ZoneRepository zoneRepository;
+    private final ZoneRegistry zoneRegistry;
 
     @PostConstruct
     public void initZoneData() throws IOException {
@@ -36,6 +37,7 @@ public class ZoneService {
                 zoneRepository.saveAll(zoneList);
             }
         }
+        zoneRegistry.load(zoneRepository.findAll());
     }
 
 
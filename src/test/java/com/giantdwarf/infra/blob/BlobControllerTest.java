@@ -0,0 +1,62 @@
+package com.giantdwarf.infra.blob;
+
+import com.giantdwarf.infra.AbstractContainerBaseTest;
+import com.giantdwarf.infra.MockMvcTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@MockMvcTest
+class BlobControllerTest extends AbstractContainerBaseTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired BlobStore blobStore;
+
+    @Test
+    void 같은_내용은_같은_키로_한번만_저장() {
+        byte[] image = {1, 2, 3, 4};
+        String key = blobStore.put(image, "image/png");
+
+        assertEquals(key, blobStore.put(image.clone(), "image/png"));
+    }
+
+    @Test
+    void 로그인하지_않아도_immutable로_캐시하게_받음() throws Exception {
+        byte[] image = {5, 6, 7, 8};
+        String key = blobStore.put(image, "image/jpeg");
+
+        String eTag = mockMvc.perform(get(BlobStore.URL_PREFIX + key))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/jpeg"))
+                .andExpect(content().bytes(image))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(BlobStore.URL_PREFIX + key).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void 아직_없는_변형은_만들지_않고_원본으로_보냄() throws Exception {
+        String key = blobStore.put(new byte[]{9, 10, 11}, "image/png");
+
+        mockMvc.perform(get(BlobStore.URL_PREFIX + ImageVariant.CARD.keyOf(key)))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl(BlobStore.URL_PREFIX + key))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+
+    @Test
+    void 없는_키나_키가_아닌_경로는_404() throws Exception {
+        mockMvc.perform(get(BlobStore.URL_PREFIX + "0".repeat(64) + ".png"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get(BlobStore.URL_PREFIX + "application.yml"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,73 @@
+package com.giantdwarf.infra.blob;
+
+import com.giantdwarf.infra.AbstractContainerBaseTest;
+import com.giantdwarf.infra.MockMvcTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MockMvcTest
+class ImageStoreTest extends AbstractContainerBaseTest {
+
+    @Autowired ImageStore imageStore;
+    @Autowired BlobStore blobStore;
+
+    @Test
+    void 저장하면_변형을_따로_만듦() throws Exception {
+        String url = imageStore.store(dataUrl(new BufferedImage(640, 480, BufferedImage.TYPE_INT_RGB), "jpeg", "image/png"),
+                ImageVariant.PROFILE_IMAGE);
+        String key = url.substring(BlobStore.URL_PREFIX.length());
+
+        //data URL에 적힌 형식이 아니라 실제 내용으로 확장자를 정한다.
+        assertTrue(key.endsWith(".jpg"));
+        for (ImageVariant variant : ImageVariant.PROFILE_IMAGE) {
+            BufferedImage image = ImageIO.read(awaitBlob(variant.keyOf(key)).toFile());
+            assertEquals(variant.getWidth(), image.getWidth());
+            assertEquals(variant.getHeight(), image.getHeight());
+        }
+        assertNull(blobStore.find(ImageVariant.BANNER.keyOf(key)));
+    }
+
+    @Test
+    void 이미지가_아니거나_너무_크면_저장하지_않음() {
+        String notImage = "data:image/png;base64," + Base64.getEncoder().encodeToString("text".getBytes());
+        String tooLarge = "data:image/png;base64," + "A".repeat(ImageStore.MAX_BYTES / 3 * 4 + 8);
+
+        assertThrows(IllegalArgumentException.class, () -> imageStore.store(notImage, ImageVariant.STUDY_IMAGE));
+        assertThrows(IllegalArgumentException.class, () -> imageStore.store(tooLarge, ImageVariant.STUDY_IMAGE));
+        assertNull(imageStore.store("", ImageVariant.STUDY_IMAGE));
+    }
+
+    @Test
+    void data_URL도_BlobStore_URL도_아니면_이미지가_없는_것으로_봄() {
+        //Lob 컬럼이던 때 저장된 large object OID
+        assertNull(imageStore.store("16384", ImageVariant.PROFILE_IMAGE));
+        assertNull(imageStore.store("http://example.com/a.png", ImageVariant.STUDY_IMAGE));
+        assertFalse(ImageStore.isImageUrl("16384"));
+    }
+
+    private String dataUrl(BufferedImage image, String format, String mediaType) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, format, bytes);
+        return "data:" + mediaType + ";base64," + Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    private Path awaitBlob(String key) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            Path path = blobStore.find(key);
+            if (!Objects.isNull(path)) {
+                return path;
+            }
+            Thread.sleep(50);
+        }
+        return fail("variant " + key + " was not generated");
+    }
+}
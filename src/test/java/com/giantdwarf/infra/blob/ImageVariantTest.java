@@ -0,0 +1,41 @@
+package com.giantdwarf.infra.blob;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageVariantTest {
+
+    static final String SOURCE_KEY = "a".repeat(64) + ".png";
+
+    @Test
+    void 원본_URL을_변형_URL로_바꿈() {
+        assertEquals(BlobStore.URL_PREFIX + "a".repeat(64) + "-card.jpg", ImageVariant.CARD.urlOf(BlobStore.URL_PREFIX + SOURCE_KEY));
+        assertEquals("/images/default_banner.png", ImageVariant.BANNER.urlOf("/images/default_banner.png"));
+        assertNull(ImageVariant.AVATAR_48.urlOf(null));
+        assertEquals(ImageVariant.CARD, ImageVariant.ofKey(ImageVariant.CARD.keyOf(SOURCE_KEY)));
+    }
+
+    @Test
+    void 그릴_크기를_채우는_가장_작은_아바타() {
+        assertEquals(ImageVariant.AVATAR_48, ImageVariant.avatarFor(24));
+        assertEquals(ImageVariant.AVATAR_48, ImageVariant.avatarFor(48));
+        assertEquals(ImageVariant.AVATAR_128, ImageVariant.avatarFor(64));
+    }
+
+    @Test
+    void 비율이_다른_원본도_정해진_크기로_만듦() {
+        BufferedImage photo = new BufferedImage(4000, 3000, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage tiny = new BufferedImage(20, 30, BufferedImage.TYPE_INT_RGB);
+
+        for (ImageVariant variant : ImageVariant.values()) {
+            for (BufferedImage source : new BufferedImage[]{photo, tiny}) {
+                BufferedImage resized = variant.resize(source);
+                assertEquals(variant.getWidth(), resized.getWidth());
+                assertEquals(variant.getHeight(), resized.getHeight());
+            }
+        }
+    }
+}
@@ -2,11 +2,14 @@ package com.giantdwarf.modules.account;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.giantdwarf.infra.MockMvcTest;
+import com.giantdwarf.infra.blob.BlobStore;
+import com.giantdwarf.infra.blob.ImageVariant;
 import com.giantdwarf.modules.account.form.TagForm;
 import com.giantdwarf.modules.account.form.ZoneForm;
 import com.giantdwarf.modules.tag.Tag;
 import com.giantdwarf.modules.tag.TagRepository;
 import com.giantdwarf.modules.zone.Zone;
+import com.giantdwarf.modules.zone.ZoneRegistry;
 import com.giantdwarf.modules.zone.ZoneRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +19,11 @@ import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.Base64;
+
 import static com.giantdwarf.modules.account.SettingsController.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -33,18 +41,19 @@ class SettingsControllerTest {
     @Autowired TagRepository tagRepository;
     @Autowired AccountService accountService;
     @Autowired ZoneRepository zoneRepository;
+    @Autowired ZoneRegistry zoneRegistry;
 
-    private Zone testZone = Zone.builder().city("test").localNameOfCity("테스트시").province("테스트주").build();
+    private Zone testZone;
 
+    //지역은 시작할 때 zones_kr.csv에서 읽은 것만 찾을 수 있다.
     @BeforeEach
     public void before() {
-        zoneRepository.save(testZone);
+        testZone = zoneRegistry.find("Andong", "North Gyeongsang");
     }
 
     @AfterEach
     public void after() {
         accountRepository.deleteAll();
-        zoneRepository.deleteAll();
     }
 
     @WithAccount("yang")
@@ -111,6 +120,55 @@ class SettingsControllerTest {
         assertEquals(bio, yang.getBio());
     }
 
+    @WithAccount("yang")
+    @Test
+    public void 프로필_이미지는_URL만_저장() throws Exception {
+        ByteArrayOutputStream image = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(200, 200, BufferedImage.TYPE_INT_RGB), "png", image);
+        mockMvc.perform(post(ROOT + SETTINGS + PROFILE)
+                .param("profileImage", "data:image/png;base64," + Base64.getEncoder().encodeToString(image.toByteArray()))
+                .with(csrf()))
+                .andExpect(status().is3xxRedirection());
+
+        String profileImage = accountRepository.findByNickname("yang").getProfileImage();
+        assertTrue(profileImage.startsWith(BlobStore.URL_PREFIX));
+        mockMvc.perform(get(profileImage))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(image.toByteArray()));
+        assertEquals(ImageVariant.AVATAR_48.urlOf(profileImage), accountRepository.findByNickname("yang").getAvatarUrl(24));
+    }
+
+    @WithAccount("yang")
+    @Test
+    public void 옮기기_전의_Lob_값이_남아_있어도_프로필_수정() throws Exception {
+        Account yang = accountRepository.findByNickname("yang");
+        yang.setProfileImage("16384");
+        assertNull(yang.getProfileImage());
+
+        mockMvc.perform(post(ROOT + SETTINGS + PROFILE)
+                .param("bio", "자기소개")
+                .param("profileImage", "16384")
+                .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attributeExists("message"));
+
+        assertEquals("자기소개", accountRepository.findByNickname("yang").getBio());
+    }
+
+    @WithAccount("yang")
+    @Test
+    public void 이미지가_아니면_프로필_수정_안됨() throws Exception {
+        mockMvc.perform(post(ROOT + SETTINGS + PROFILE)
+                .param("bio", "자기소개")
+                .param("profileImage", "data:image/png;base64," + Base64.getEncoder().encodeToString(new byte[]{1, 2, 3}))
+                .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(view().name(SETTINGS + PROFILE))
+                .andExpect(model().attributeHasFieldErrors("profile", "profileImage"));
+
+        assertNull(accountRepository.findByNickname("yang").getBio());
+    }
+
     @WithAccount("yang")
     @Test
     public void 프로필수정_입력값비정상() throws Exception {
@@ -190,7 +248,7 @@ class SettingsControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(view().name(SETTINGS+TAGS))
                 .andExpect(model().attributeExists("account"))
-                .andExpect(model().attributeExists("whitelist"))
+                .andExpect(model().attributeExists("whitelistUrl"))
                 .andExpect(model().attributeExists("tags"));
     }
 
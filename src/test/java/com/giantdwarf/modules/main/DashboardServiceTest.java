@@ -0,0 +1,124 @@
+package com.giantdwarf.modules.main;
+
+import com.giantdwarf.modules.account.Account;
+import com.giantdwarf.modules.account.AccountRepository;
+import com.giantdwarf.modules.event.EnrollmentRepository;
+import com.giantdwarf.modules.study.StudyCard;
+import com.giantdwarf.modules.study.StudyRepository;
+import com.giantdwarf.modules.study.recommendation.StudyRecommendationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class DashboardServiceTest {
+
+    AccountRepository accountRepository = mock(AccountRepository.class);
+    EnrollmentRepository enrollmentRepository = mock(EnrollmentRepository.class);
+    StudyRepository studyRepository = mock(StudyRepository.class);
+    StudyRecommendationService studyRecommendationService = mock(StudyRecommendationService.class);
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ThreadPoolTaskExecutor executor;
+    DashboardService dashboardService;
+    Account account;
+
+    @BeforeEach
+    void beforeEach() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(5);
+        executor.initialize();
+        dashboardService = new DashboardService(accountRepository, enrollmentRepository, studyRepository,
+                studyRecommendationService, executor, meterRegistry);
+
+        account = new Account();
+        account.setId(1L);
+        account.setNickname("yang");
+        account.setEmail("rhfpdk12@gmail.com");
+        given(accountRepository.findAccountWithTagsAndZonesById(1L)).willReturn(account);
+        given(enrollmentRepository.findByAccountAndAcceptedOrderByEnrolledAtDesc(account, true)).willReturn(List.of());
+        given(studyRecommendationService.getRecommendations(account)).willReturn(List.of(card(10L)));
+        given(studyRepository.findByMember(any(), anyInt())).willReturn(List.of(card(20L)));
+    }
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdown();
+    }
+
+    @Test
+    void 실패한_섹션만_빈_값으로() {
+        given(studyRepository.findByManager(any(), anyInt())).willThrow(new IllegalStateException("db down"));
+
+        Dashboard dashboard = dashboardService.assemble(account);
+
+        assertEquals(account, dashboard.getAccount());
+        assertTrue(dashboard.getStudyManagerOf().isEmpty());
+        assertEquals(10L, dashboard.getStudyList().get(0).getId());
+        assertEquals(20L, dashboard.getStudyMemberOf().get(0).getId());
+        assertEquals(1, meterRegistry.counter("dashboard.section.fallback", "section", "managed", "reason", "error").count());
+    }
+
+    @Test
+    void 제한_시간을_넘긴_섹션은_빈_값으로() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        given(studyRepository.findByManager(any(), anyInt())).willAnswer(invocation -> {
+            try {
+                Thread.sleep(DashboardService.SECTION_TIMEOUT.toMillis() * 2);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return List.of(card(30L));
+        });
+
+        long start = System.nanoTime();
+        Dashboard dashboard = dashboardService.assemble(account);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(dashboard.getStudyManagerOf().isEmpty());
+        assertTrue(elapsedMillis < DashboardService.SECTION_TIMEOUT.toMillis() * 2);
+        assertEquals(1, meterRegistry.counter("dashboard.section.fallback", "section", "managed", "reason", "timeout").count());
+        assertEquals(1, meterRegistry.timer("dashboard.section", "section", "recommendations").count());
+        //시간을 넘긴 섹션은 끝날 때까지 스레드를 붙잡지 않고 인터럽트된다.
+        assertTrue(interrupted.await(DashboardService.SECTION_TIMEOUT.toMillis() / 2, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void 큐가_차서_거절된_섹션은_요청_스레드에서_돌리지_않고_빈_값으로() {
+        executor.shutdown();
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.initialize();
+        dashboardService = new DashboardService(accountRepository, enrollmentRepository, studyRepository,
+                studyRecommendationService, executor, meterRegistry);
+        given(accountRepository.findAccountWithTagsAndZonesById(1L)).willAnswer(invocation -> {
+            Thread.sleep(100);
+            return account;
+        });
+
+        Dashboard dashboard = dashboardService.assemble(account);
+
+        assertEquals(account, dashboard.getAccount());
+        assertTrue(dashboard.getStudyList().isEmpty());
+        assertEquals(1, meterRegistry.counter("dashboard.section.fallback", "section", "recommendations", "reason", "rejected").count());
+        assertEquals(0, meterRegistry.timer("dashboard.section", "section", "recommendations").count());
+    }
+
+    private StudyCard card(Long id) {
+        return new StudyCard(id, "path-" + id, "title-" + id, "short", 1, LocalDateTime.now(), null);
+    }
+}
@@ -0,0 +1,96 @@
+package com.giantdwarf.modules.main;
+
+import com.giantdwarf.infra.AbstractContainerBaseTest;
+import com.giantdwarf.infra.MockMvcTest;
+import com.giantdwarf.infra.RecordingStatementInspector;
+import com.giantdwarf.modules.study.Study;
+import com.giantdwarf.modules.study.StudyRepository;
+import com.giantdwarf.modules.study.event.StudyChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@MockMvcTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.giantdwarf.infra.RecordingStatementInspector")
+class HomePageCacheTest extends AbstractContainerBaseTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired HomePageCache homePageCache;
+    @Autowired StudyRepository studyRepository;
+
+    Study study;
+
+    @BeforeEach
+    void beforeEach() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 9; i++) {
+            Study published = new Study();
+            published.setPath("home-study-" + i);
+            published.setTitle("첫 화면 스터디 " + i);
+            published.setShortDescription("첫 화면에 보이는 스터디");
+            published.setPublished(true);
+            published.setPublishedDateTime(now.minusMinutes(i));
+            study = studyRepository.save(published);
+        }
+        homePageCache.invalidate();
+    }
+
+    @Test
+    void 두번째_요청은_캐시에서_응답() throws Exception {
+        long misses = homePageCache.getMisses();
+        long hits = homePageCache.getHits();
+
+        String rendered = mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String cached = mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/html"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(rendered, cached);
+        assertTrue(cached.contains("첫 화면 스터디 0"));
+        assertEquals(misses + 1, homePageCache.getMisses());
+        assertEquals(hits + 1, homePageCache.getHits());
+    }
+
+    @Test
+    void 스터디가_바뀌면_다시_그림() throws Exception {
+        mockMvc.perform(get("/")).andExpect(status().isOk());
+
+        study.setTitle("이름을 바꾼 스터디");
+        studyRepository.flush();
+        homePageCache.handleStudyChangedEvent(new StudyChangedEvent(study));
+
+        mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("이름을 바꾼 스터디")));
+    }
+
+    //캐시에서 응답하면 컨트롤러를 거치지 않으므로 SQL을 하나도 실행하지 않는다.
+    @Test
+    void 캐시에서_응답하면_쿼리를_실행하지_않음() throws Exception {
+        RecordingStatementInspector.clear();
+        mockMvc.perform(get("/")).andExpect(status().isOk());
+        assertFalse(RecordingStatementInspector.statements().isEmpty());
+
+        RecordingStatementInspector.clear();
+        long hits = homePageCache.getHits();
+        mockMvc.perform(get("/")).andExpect(status().isOk());
+
+        assertEquals(hits + 1, homePageCache.getHits());
+        assertTrue(RecordingStatementInspector.statements().isEmpty());
+    }
+}
@@ -0,0 +1,92 @@
+package com.giantdwarf.modules.study;
+
+import com.giantdwarf.infra.AbstractContainerBaseTest;
+import com.giantdwarf.infra.blob.BlobStore;
+import com.giantdwarf.infra.blob.LegacyImageMigration;
+import com.giantdwarf.modules.account.Account;
+import com.giantdwarf.modules.account.AccountFactory;
+import com.giantdwarf.modules.account.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//한 행씩 따로 커밋하는 작업이므로 @MockMvcTest(@Transactional)를 쓰지 않는다.
+//infra 패키지는 modules를 참조할 수 없으므로(PackageDependencyTests) 스터디, 계정을 만드는 이 테스트는 study 패키지에 둔다.
+@ActiveProfiles("test")
+@SpringBootTest
+class LegacyImageMigrationTest extends AbstractContainerBaseTest {
+
+    @Autowired LegacyImageMigration legacyImageMigration;
+    @Autowired BlobStore blobStore;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired StudyRepository studyRepository;
+    @Autowired StudyMembershipRepository studyMembershipRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired StudyFactory studyFactory;
+    @Autowired AccountFactory accountFactory;
+
+    @AfterEach
+    void afterEach() {
+        studyMembershipRepository.deleteAll();
+        studyRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void large_object와_data_URL을_BlobStore로_옮김() throws Exception {
+        Account account = accountFactory.createAccount("legacy");
+        Study study = studyFactory.createStudy("legacy-study", account);
+        byte[] banner = png(1300, 200);
+        byte[] avatar = png(1, 1);
+        long oid = jdbcTemplate.queryForObject("select lo_from_bytea(0, convert_to(?, 'UTF8'))", Long.class, dataUrl(banner));
+        jdbcTemplate.update("update study set image = ? where id = ?", String.valueOf(oid), study.getId());
+        jdbcTemplate.update("update account set profile_image = ? where id = ?", dataUrl(avatar), account.getId());
+        long version = jdbcTemplate.queryForObject("select version from study where id = ?", Long.class, study.getId());
+
+        legacyImageMigration.migrate();
+
+        String image = jdbcTemplate.queryForObject("select image from study where id = ?", String.class, study.getId());
+        String profileImage = jdbcTemplate.queryForObject("select profile_image from account where id = ?", String.class, account.getId());
+        assertArrayEquals(banner, read(image));
+        assertArrayEquals(avatar, read(profileImage));
+        assertEquals(version + 1, jdbcTemplate.queryForObject("select version from study where id = ?", Long.class, study.getId()));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from pg_largeobject_metadata where oid = ?", Integer.class, oid));
+    }
+
+    @Test
+    void 옮긴_행은_다시_옮기지_않음() {
+        Account account = accountFactory.createAccount("legacy");
+        String url = BlobStore.URL_PREFIX + blobStore.put(new byte[]{1}, "image/png");
+        jdbcTemplate.update("update account set profile_image = ? where id = ?", url, account.getId());
+
+        legacyImageMigration.migrate();
+
+        assertEquals(url, jdbcTemplate.queryForObject("select profile_image from account where id = ?", String.class, account.getId()));
+    }
+
+    private byte[] read(String url) throws Exception {
+        assertTrue(url.startsWith(BlobStore.URL_PREFIX));
+        return Files.readAllBytes(blobStore.find(url.substring(BlobStore.URL_PREFIX.length())));
+    }
+
+    private byte[] png(int width, int height) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", bytes);
+        return bytes.toByteArray();
+    }
+
+    private String dataUrl(byte[] bytes) {
+        return "data:image/png;base64," + Base64.getEncoder().encodeToString(bytes);
+    }
+}
@@ -8,11 +8,21 @@ import com.giantdwarf.modules.account.AccountRepository;
 import com.giantdwarf.modules.account.WithAccount;
 import com.giantdwarf.modules.tag.TagRepository;
 import com.giantdwarf.modules.zone.ZoneRepository;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpSession;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import javax.persistence.EntityManager;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -25,11 +35,14 @@ public class StudyControllerTest extends AbstractContainerBaseTest {
     @Autowired MockMvc mockMvc;
     @Autowired StudyService studyService;
     @Autowired StudyRepository studyRepository;
+    @Autowired StudyMembershipRepository studyMembershipRepository;
+    @Autowired StudyMembershipIndex studyMembershipIndex;
     @Autowired AccountRepository accountRepository;
     @Autowired TagRepository tagRepository;
     @Autowired ZoneRepository zoneRepository;
     @Autowired StudyFactory studyFactory;
     @Autowired AccountFactory accountFactory;
+    @Autowired EntityManager entityManager;
 
     @AfterEach
     void afterEach() {
@@ -61,7 +74,7 @@ public class StudyControllerTest extends AbstractContainerBaseTest {
         Study study = studyRepository.findByPath("test-path");
         assertNotNull(study);
         Account account = accountRepository.findByNickname("yang");
-        assertTrue(study.getManagers().contains(account));
+        assertTrue(studyMembershipRepository.existsByStudyAndAccountAndRole(study, account, StudyRole.MANAGER));
     }
 
     @Test
@@ -101,6 +114,102 @@ public class StudyControllerTest extends AbstractContainerBaseTest {
                 .andExpect(model().attributeExists("study"));
     }
 
+    @Test
+    @WithAccount("yang")
+    void 스터디_조회시_멤버_목록을_읽지_않음() throws Exception {
+        Account admin = accountFactory.createAccount("admin");
+        Study study = studyFactory.createStudy("test-study", admin);
+        Account yang = accountRepository.findByNickname("yang");
+        studyService.addMember(study, yang);
+        entityManager.flush();
+        entityManager.clear();
+
+        MvcResult mvcResult = mockMvc.perform(get("/study/test-study"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("studyViewer", hasProperty("member", is(true))))
+                .andExpect(model().attribute("studyViewer", hasProperty("manager", is(false))))
+                .andExpect(content().string(containsString("스터디 탈퇴")))
+                .andReturn();
+
+        Study viewed = (Study) mvcResult.getModelAndView().getModel().get("study");
+        assertFalse(Hibernate.isInitialized(viewed.getMembers()));
+        assertFalse(Hibernate.isInitialized(viewed.getManagers()));
+    }
+
+    @Test
+    @WithAccount("yang")
+    void 바뀌지_않은_스터디는_304() throws Exception {
+        Account admin = accountFactory.createAccount("admin");
+        Study study = studyFactory.createStudy("test-study", admin);
+        MockHttpSession session = new MockHttpSession();
+
+        String eTag = mockMvc.perform(get("/study/test-study").session(session))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(eTag);
+
+        mockMvc.perform(get("/study/test-study").session(session).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(model().attributeDoesNotExist("study"));
+
+        Account yang = accountRepository.findByNickname("yang");
+        studyService.addMember(study, yang);
+
+        mockMvc.perform(get("/study/test-study").session(session).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeExists("study"));
+    }
+
+    //알림을 읽으면 세션에 있는 계정이 아니라 DB의 계정 버전만 올라간다.
+    @Test
+    @WithAccount("yang")
+    void 보는_사람의_계정_버전이_바뀌면_다시_그림() throws Exception {
+        studyFactory.createStudy("test-study", accountFactory.createAccount("admin"));
+        MockHttpSession session = new MockHttpSession();
+        String eTag = mockMvc.perform(get("/study/test-study").session(session))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        accountRepository.findByNickname("yang").increaseVersion();
+        entityManager.flush();
+
+        mockMvc.perform(get("/study/test-study").session(session).header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithAccount("yang")
+    void 멤버_목록_커서로_페이징() throws Exception {
+        Account admin = accountFactory.createAccount("admin");
+        Study study = studyFactory.createStudy("test-study", admin);
+        for (int i = 0; i < StudyService.MEMBERS_PAGE_SIZE + 5; i++) {
+            studyService.addMember(study, accountFactory.createAccount("member" + i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        MvcResult mvcResult = mockMvc.perform(get("/study/test-study/members"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("study/members"))
+                .andExpect(model().attribute("managers", hasSize(1)))
+                .andExpect(model().attribute("studyMemberSlice", hasProperty("content", hasSize(StudyService.MEMBERS_PAGE_SIZE))))
+                .andReturn();
+
+        Study viewed = (Study) mvcResult.getModelAndView().getModel().get("study");
+        assertFalse(Hibernate.isInitialized(viewed.getMembers()));
+        assertFalse(Hibernate.isInitialized(viewed.getManagers()));
+
+        StudyMemberSlice firstPage = (StudyMemberSlice) mvcResult.getModelAndView().getModel().get("studyMemberSlice");
+        assertTrue(firstPage.hasNext());
+
+        mockMvc.perform(get("/study/test-study/members").param("cursor", firstPage.getNextCursor()))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("managers", hasSize(0)))
+                .andExpect(model().attribute("studyMemberSlice", hasProperty("content", hasSize(5))))
+                .andExpect(model().attribute("studyMemberSlice", hasProperty("nextCursor", nullValue())));
+    }
+
     @Test
     @WithAccount("yang")
     void 스터디_가입() throws Exception {
@@ -112,7 +221,21 @@ public class StudyControllerTest extends AbstractContainerBaseTest {
                 .andExpect(redirectedUrl("/study/" + study.getPath() + "/members"));
 
         Account yang = accountRepository.findByNickname("yang");
-        assertTrue(study.getMembers().contains(yang));
+        assertTrue(studyMembershipRepository.existsByStudyAndAccountAndRole(study, yang, StudyRole.MEMBER));
+    }
+
+    @Test
+    @WithAccount("yang")
+    void 커밋_전의_가입은_색인에_반영하지_않음() {
+        Account admin = accountFactory.createAccount("admin");
+        Study study = studyFactory.createStudy("test-study", admin);
+        Account yang = accountRepository.findByNickname("yang");
+
+        studyService.addMember(study, yang);
+
+        assertNull(studyMembershipIndex.roleOf(study.getId(), yang.getId()));
+        //같은 트랜잭션 안에서는 DB에서 읽는다.
+        assertEquals(StudyRole.MEMBER, studyService.getStudyRole(study, yang));
     }
 
     @Test
@@ -128,6 +251,6 @@ public class StudyControllerTest extends AbstractContainerBaseTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/study/" + study.getPath() + "/members"));
 
-        assertFalse(study.getMembers().contains(yang));
+        assertFalse(studyMembershipRepository.existsByStudyAndAccount(study, yang));
     }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.giantdwarf.modules.study;
+
+import com.giantdwarf.infra.AbstractContainerBaseTest;
+import com.giantdwarf.modules.account.Account;
+import com.giantdwarf.modules.account.AccountFactory;
+import com.giantdwarf.modules.account.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//가입마다 따로 커밋되어야 서로 덮어쓰는지 확인할 수 있으므로 @MockMvcTest(@Transactional)를 쓰지 않는다.
+@ActiveProfiles("test")
+@SpringBootTest
+class StudyMembershipConcurrencyTest extends AbstractContainerBaseTest {
+
+    static final int MEMBERS = 200;
+
+    @Autowired StudyService studyService;
+    @Autowired StudyRepository studyRepository;
+    @Autowired StudyMembershipRepository studyMembershipRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired StudyFactory studyFactory;
+    @Autowired AccountFactory accountFactory;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void afterEach() {
+        studyMembershipRepository.deleteAll();
+        studyRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void 동시에_가입해도_멤버수가_맞음() throws Exception {
+        Study study = studyFactory.createStudy("concurrent-study", accountFactory.createAccount("admin"));
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            accounts.add(accountFactory.createAccount("member" + i));
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Account account : accounts) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                studyService.addMember(study, account);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+        Study joined = studyRepository.findStudyOnlyByPath("concurrent-study");
+        assertEquals(MEMBERS, joined.getMemberCount());
+        assertEquals(MEMBERS, studyMembershipRepository.countByStudyAndRole(joined, StudyRole.MEMBER));
+    }
+
+    @Test
+    void 같은_계정이_동시에_가입해도_한_번만_들어감() throws Exception {
+        Study study = studyFactory.createStudy("concurrent-study", accountFactory.createAccount("admin"));
+        Account account = accountFactory.createAccount("member");
+
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                studyService.addMember(study, account);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+        Study joined = studyRepository.findStudyOnlyByPath("concurrent-study");
+        assertEquals(1, joined.getMemberCount());
+        assertEquals(1, studyMembershipRepository.countByStudyAndRole(joined, StudyRole.MEMBER));
+    }
+
+    @Test
+    void 멤버_수를_바꾸면_그_스터디만_2차_캐시에서_뺌() {
+        Account admin = accountFactory.createAccount("admin");
+        Study joined = studyFactory.createStudy("joined-study", admin);
+        Study other = studyFactory.createStudy("other-study", admin);
+        studyRepository.findById(joined.getId());
+        studyRepository.findById(other.getId());
+        assertTrue(entityManagerFactory.getCache().contains(Study.class, joined.getId()));
+
+        studyRepository.increaseMemberCount(joined.getId(), 1);
+
+        assertFalse(entityManagerFactory.getCache().contains(Study.class, joined.getId()));
+        assertTrue(entityManagerFactory.getCache().contains(Study.class, other.getId()));
+        assertEquals(joined.getMemberCount() + 1, studyRepository.findById(joined.getId()).orElseThrow().getMemberCount());
+    }
+}
@@ -0,0 +1,105 @@
+package com.giantdwarf.modules.study;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudyMembershipIndexTest {
+
+    StudyMembershipIndex studyMembershipIndex;
+
+    @BeforeEach
+    void beforeEach() {
+        studyMembershipIndex = new StudyMembershipIndex();
+        StudyMembershipIndex.Rebuild rebuild = studyMembershipIndex.startRebuild();
+        rebuild.add(1L, 100L, StudyRole.MANAGER);
+        rebuild.add(1L, 300L, StudyRole.MEMBER);
+        rebuild.add(1L, 200L, StudyRole.MEMBER);
+        rebuild.add(2L, 200L, StudyRole.MANAGER);
+        rebuild.add(2L, 300L, StudyRole.MEMBER);
+        rebuild.add(3L, 300L, StudyRole.MEMBER);
+        studyMembershipIndex.finishRebuild(rebuild);
+    }
+
+    @Test
+    void 다시_만든_색인으로_역할_확인() {
+        assertTrue(studyMembershipIndex.isReady());
+        assertEquals(StudyRole.MANAGER, studyMembershipIndex.roleOf(1L, 100L));
+        assertEquals(StudyRole.MEMBER, studyMembershipIndex.roleOf(1L, 200L));
+        assertNull(studyMembershipIndex.roleOf(3L, 100L));
+        assertTrue(studyMembershipIndex.isManager(2L, 200L));
+        assertFalse(studyMembershipIndex.isMember(2L, 200L));
+        assertEquals(StudyRole.MEMBER, studyMembershipIndex.roleOf(1L, 300L));
+    }
+
+    @Test
+    void 가입_탈퇴_반영() {
+        studyMembershipIndex.add(3L, 150L, StudyRole.MEMBER);
+        assertTrue(studyMembershipIndex.isMember(3L, 150L));
+
+        studyMembershipIndex.remove(3L, 150L);
+        assertFalse(studyMembershipIndex.isMember(3L, 150L));
+        assertTrue(studyMembershipIndex.isMember(3L, 300L));
+    }
+
+    @Test
+    void 두_계정이_함께_있는_스터디() {
+        assertArrayEquals(new long[]{1L, 2L}, studyMembershipIndex.sharedStudyIds(200L, 300L));
+        assertArrayEquals(new long[]{1L}, studyMembershipIndex.sharedStudyIds(100L, 300L));
+        assertArrayEquals(new long[0], studyMembershipIndex.sharedStudyIds(100L, 999L));
+    }
+
+    @Test
+    void 가입_탈퇴하면_함께_있는_스터디도_바뀜() {
+        studyMembershipIndex.add(3L, 200L, StudyRole.MEMBER);
+        assertArrayEquals(new long[]{1L, 2L, 3L}, studyMembershipIndex.sharedStudyIds(200L, 300L));
+
+        studyMembershipIndex.remove(1L, 300L);
+        assertArrayEquals(new long[]{2L, 3L}, studyMembershipIndex.sharedStudyIds(200L, 300L));
+    }
+
+    @Test
+    void 스터디_삭제() {
+        studyMembershipIndex.removeStudy(1L);
+
+        assertNull(studyMembershipIndex.roleOf(1L, 100L));
+        assertNull(studyMembershipIndex.roleOf(1L, 300L));
+        assertEquals(StudyRole.MEMBER, studyMembershipIndex.roleOf(2L, 300L));
+        assertArrayEquals(new long[]{2L}, studyMembershipIndex.sharedStudyIds(200L, 300L));
+        assertArrayEquals(new long[0], studyMembershipIndex.sharedStudyIds(100L, 300L));
+    }
+
+    @Test
+    void 다시_만드는_중의_변경은_새_색인에도_반영() {
+        StudyMembershipIndex.Rebuild rebuild = studyMembershipIndex.startRebuild();
+        rebuild.add(1L, 100L, StudyRole.MANAGER);
+        rebuild.add(1L, 200L, StudyRole.MEMBER);
+
+        studyMembershipIndex.add(1L, 400L, StudyRole.MEMBER);
+        studyMembershipIndex.remove(1L, 200L);
+        studyMembershipIndex.finishRebuild(rebuild);
+
+        assertTrue(studyMembershipIndex.isMember(1L, 400L));
+        assertFalse(studyMembershipIndex.isMember(1L, 200L));
+        assertTrue(studyMembershipIndex.isManager(1L, 100L));
+        assertArrayEquals(new long[]{1L}, studyMembershipIndex.sharedStudyIds(100L, 400L));
+        assertArrayEquals(new long[0], studyMembershipIndex.sharedStudyIds(100L, 200L));
+    }
+
+    @Test
+    void 다시_만드는_중의_가입_탈퇴는_함께_있는_스터디에도_반영() {
+        StudyMembershipIndex.Rebuild rebuild = studyMembershipIndex.startRebuild();
+        rebuild.add(1L, 200L, StudyRole.MEMBER);
+        rebuild.add(1L, 300L, StudyRole.MEMBER);
+        rebuild.add(2L, 200L, StudyRole.MANAGER);
+        rebuild.add(2L, 300L, StudyRole.MEMBER);
+
+        studyMembershipIndex.add(3L, 200L, StudyRole.MEMBER);
+        studyMembershipIndex.add(3L, 300L, StudyRole.MEMBER);
+        studyMembershipIndex.remove(2L, 300L);
+        studyMembershipIndex.finishRebuild(rebuild);
+
+        assertArrayEquals(new long[]{1L, 3L}, studyMembershipIndex.sharedStudyIds(200L, 300L));
+    }
+}
@@ -0,0 +1,73 @@
+package com.giantdwarf.modules.study;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudyPathCacheTest {
+
+    StudyPathCache studyPathCache;
+
+    AtomicInteger loads;
+
+    @BeforeEach
+    void beforeEach() {
+        studyPathCache = new StudyPathCache();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void 한번_찾은_경로는_다시_읽지_않음() {
+        assertEquals(1L, studyPathCache.resolve("spring", this::load));
+        assertEquals(1L, studyPathCache.resolve("spring", this::load));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, studyPathCache.getHits());
+        assertEquals(1, studyPathCache.getMisses());
+        assertEquals(0.5, studyPathCache.getHitRatio());
+    }
+
+    @Test
+    void 없는_경로는_캐시하지_않음() {
+        assertNull(studyPathCache.resolve("nothing", this::load));
+        assertNull(studyPathCache.resolve("nothing", this::load));
+
+        assertEquals(2, loads.get());
+        assertEquals(0, studyPathCache.size());
+    }
+
+    @Test
+    void 비우면_다시_읽음() {
+        studyPathCache.resolve("spring", this::load);
+        studyPathCache.evict("spring");
+        studyPathCache.resolve("spring", this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void 최대_크기를_넘으면_오래_읽지_않은_경로부터_제거() {
+        studyPathCache.resolve("path-0", path -> 0L);
+        for (int i = 1; i < StudyPathCache.MAXIMUM_SIZE; i++) {
+            studyPathCache.resolve("path-" + i, path -> 1L);
+        }
+        //가장 먼저 넣은 경로를 다시 읽으면 가장 최근에 쓴 경로가 된다.
+        studyPathCache.resolve("path-0", this::load);
+        studyPathCache.resolve("path-new", path -> 2L);
+
+        assertEquals(StudyPathCache.MAXIMUM_SIZE, studyPathCache.size());
+        assertEquals(1, studyPathCache.getEvictions());
+        assertEquals(0L, studyPathCache.resolve("path-0", this::load));
+        assertEquals(0, loads.get());
+        assertNull(studyPathCache.resolve("path-1", this::load));
+        assertEquals(1, loads.get());
+    }
+
+    private Long load(String path) {
+        loads.incrementAndGet();
+        return "spring".equals(path) ? 1L : null;
+    }
+}
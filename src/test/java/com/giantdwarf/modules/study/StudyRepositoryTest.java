@@ -0,0 +1,142 @@
+package com.giantdwarf.modules.study;
+
+import com.giantdwarf.infra.AbstractContainerBaseTest;
+import com.giantdwarf.infra.MockMvcTest;
+import com.giantdwarf.infra.RecordingStatementInspector;
+import com.giantdwarf.infra.blob.BlobStore;
+import com.giantdwarf.infra.blob.ImageVariant;
+import com.giantdwarf.modules.study.search.StudyCursor;
+import com.giantdwarf.modules.study.search.StudyDocument;
+import com.giantdwarf.modules.study.search.StudySearchFilter;
+import com.giantdwarf.modules.study.search.StudySlice;
+import com.giantdwarf.modules.tag.Tag;
+import com.giantdwarf.modules.tag.TagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//하이버네이트가 메모리에서 페이징하려고 하면 경고 대신 예외를 던지도록 설정하고, 실행한 SQL을 기록한다.
+@MockMvcTest
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.query.fail_on_pagination_over_collection_fetch=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.giantdwarf.infra.RecordingStatementInspector"
+})
+class StudyRepositoryTest extends AbstractContainerBaseTest {
+
+    @Autowired StudyRepository studyRepository;
+    @Autowired TagRepository tagRepository;
+    @Autowired EntityManager entityManager;
+
+    Tag java;
+
+    @BeforeEach
+    void beforeEach() {
+        java = tagRepository.save(Tag.builder().title("java").build());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            Study study = new Study();
+            study.setPath("java-study-" + i);
+            study.setTitle("스터디 " + i);
+            study.setPublished(true);
+            study.setPublishedDateTime(now.minusDays(i));
+            study.getTags().add(java);
+            studyRepository.save(study);
+        }
+    }
+
+    @Test
+    void 키워드검색_SQL에서_페이징() {
+        PageRequest pageRequest = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "publishedDateTime"));
+
+        Page<StudyCard> studyPage = studyRepository.findByKeyword("java", new StudySearchFilter(), pageRequest);
+
+        assertEquals(5, studyPage.getTotalElements());
+        assertEquals(3, studyPage.getTotalPages());
+        assertEquals(List.of("java-study-2", "java-study-3"), paths(studyPage));
+        assertTrue(studyPage.getContent().stream().allMatch(study -> study.getTagTitles().contains("java")));
+    }
+
+    @Test
+    void 커서로_다음_이전_페이지_조회() {
+        StudyCursor first = StudyCursor.first(StudyCursor.PUBLISHED_DATE_TIME);
+        StudySlice firstSlice = StudySlice.of(studyRepository.findByKeywordAndCursor("java", new StudySearchFilter(), first, 3), first, 2, null);
+        assertEquals(List.of("java-study-0", "java-study-1"), paths(firstSlice.getContent()));
+        assertFalse(firstSlice.hasPrevious());
+        assertTrue(firstSlice.hasNext());
+
+        StudyCursor next = StudyCursor.decode(firstSlice.getNextCursor(), StudyCursor.MEMBER_COUNT);
+        StudySlice secondSlice = StudySlice.of(studyRepository.findByKeywordAndCursor("java", new StudySearchFilter(), next, 3), next, 2, null);
+        assertEquals(List.of("java-study-2", "java-study-3"), paths(secondSlice.getContent()));
+        assertTrue(secondSlice.hasPrevious());
+
+        StudyCursor previous = StudyCursor.decode(secondSlice.getPreviousCursor(), StudyCursor.MEMBER_COUNT);
+        StudySlice previousSlice = StudySlice.of(studyRepository.findByKeywordAndCursor("java", new StudySearchFilter(), previous, 3), previous, 2, null);
+        assertEquals(List.of("java-study-0", "java-study-1"), paths(previousSlice.getContent()));
+        assertFalse(previousSlice.hasPrevious());
+    }
+
+    //엔티티로 읽으면 Lob인 full_description까지 select 하지만 카드는 목록에 보이는 컬럼만 select 한다.
+    @Test
+    void 카드는_Lob_컬럼을_읽지_않음() {
+        String image = BlobStore.URL_PREFIX + "0".repeat(64) + ".png";
+        studyRepository.findAll().forEach(study -> {
+            study.setImage(image);
+            study.setFullDescription("<p>스터디 소개</p>");
+        });
+        entityManager.flush();
+        entityManager.clear();
+        List<Long> ids = studyRepository.findPublishedIdsAfter(0L, 10);
+
+        RecordingStatementInspector.clear();
+        studyRepository.findAllById(ids);
+        assertTrue(RecordingStatementInspector.statements().stream().anyMatch(sql -> sql.contains("full_description")));
+        entityManager.clear();
+
+        RecordingStatementInspector.clear();
+        List<StudyCard> cards = studyRepository.findCardsByIdIn(ids);
+        List<String> statements = RecordingStatementInspector.statements();
+        assertEquals(3, statements.size());
+        assertTrue(statements.stream().noneMatch(sql -> sql.contains("full_description")));
+        assertTrue(cards.stream().allMatch(card -> card.getBannerUrl().equals(ImageVariant.CARD.urlOf(image))));
+    }
+
+    //검색 색인을 다시 만들 때 엔티티 대신 색인에 쓰는 컬럼만 읽는다.
+    @Test
+    void 검색_색인용_문서는_Lob_컬럼을_읽지_않음() {
+        studyRepository.findAll().forEach(study -> study.setFullDescription("<p>스터디 소개</p>"));
+        entityManager.flush();
+        entityManager.clear();
+        List<Long> ids = studyRepository.findPublishedIdsAfter(0L, 10);
+
+        RecordingStatementInspector.clear();
+        List<StudyDocument> documents = studyRepository.findDocumentsByIdIn(ids);
+        List<String> statements = RecordingStatementInspector.statements();
+
+        assertEquals(3, statements.size());
+        assertTrue(statements.stream().noneMatch(sql -> sql.contains("full_description")));
+        assertEquals(ids, documents.stream().map(StudyDocument::getId).collect(Collectors.toList()));
+        assertTrue(documents.stream().allMatch(document -> document.isPublished()
+                && document.getTags().stream().anyMatch(tag -> tag.getTitle().equals("java"))));
+    }
+
+    private List<String> paths(Page<StudyCard> studyPage) {
+        return paths(studyPage.getContent());
+    }
+
+    private List<String> paths(List<StudyCard> studies) {
+        return studies.stream().map(StudyCard::getPath).collect(Collectors.toList());
+    }
+}
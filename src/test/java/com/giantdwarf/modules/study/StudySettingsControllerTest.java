@@ -112,7 +112,7 @@ class StudySettingsControllerTest extends AbstractContainerBaseTest {
                 .andExpect(model().attributeExists("account"))
                 .andExpect(model().attributeExists("study"))
                 .andExpect(model().attributeExists("tags"))
-                .andExpect(model().attributeExists("whitelist"));
+                .andExpect(model().attributeExists("whitelistUrl"));
     }
 
     @Test
@@ -36,7 +36,7 @@ public class StudyTest {
     void 스터디공개_인원모집중_관리자는가입불가() {
         study.setPublished(true);
         study.setRecruiting(true);
-        study.addManager(account);
+        study.getManagers().add(account);
 
         assertFalse(study.isJoinable(userAccount));
     }
@@ -45,7 +45,7 @@ public class StudyTest {
     void 스터디공개_인원모집중_멤버는가입불가() {
         study.setPublished(true);
         study.setRecruiting(true);
-        study.addMember(account);
+        study.getMembers().add(account);
 
         assertFalse(study.isJoinable(userAccount));
     }
@@ -65,14 +65,14 @@ public class StudyTest {
 
     @Test
     void 관리자인지확인() {
-        study.addManager(account);
+        study.getManagers().add(account);
         assertTrue(study.isManager(userAccount));
     }
 
 
     @Test
     void 멤버인지확인() {
-        study.addMember(account);
+        study.getMembers().add(account);
         assertTrue(study.isMember(userAccount));
     }
 }
@@ -0,0 +1,97 @@
+package com.giantdwarf.modules.study.recommendation;
+
+import com.giantdwarf.infra.AbstractContainerBaseTest;
+import com.giantdwarf.infra.MockMvcTest;
+import com.giantdwarf.modules.account.Account;
+import com.giantdwarf.modules.account.AccountFactory;
+import com.giantdwarf.modules.study.Study;
+import com.giantdwarf.modules.study.StudyCard;
+import com.giantdwarf.modules.study.StudyRepository;
+import com.giantdwarf.modules.tag.Tag;
+import com.giantdwarf.modules.tag.TagRepository;
+import com.giantdwarf.modules.zone.Zone;
+import com.giantdwarf.modules.zone.ZoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MockMvcTest
+class StudyRecommendationServiceTest extends AbstractContainerBaseTest {
+
+    @Autowired StudyRecommendationService studyRecommendationService;
+    @Autowired StudyRecommendationRepository studyRecommendationRepository;
+    @Autowired StudyRepository studyRepository;
+    @Autowired TagRepository tagRepository;
+    @Autowired ZoneRepository zoneRepository;
+    @Autowired AccountFactory accountFactory;
+
+    Tag java;
+    Zone suwon;
+    Account account;
+
+    @BeforeEach
+    void beforeEach() {
+        java = tagRepository.save(Tag.builder().title("java").build());
+        suwon = zoneRepository.save(Zone.builder().city("Suwon").localNameOfCity("수원시").province("Gyeonggi").build());
+        account = accountFactory.createAccount("yang");
+        account.getTags().add(java);
+        account.getZones().add(suwon);
+    }
+
+    @Test
+    void 스터디_공개와_종료에_따라_추천_갱신() {
+        Study study = publishedStudy("java-study");
+        studyRecommendationService.refreshStudy(study.getId());
+        assertEquals(List.of("java-study"), paths(studyRecommendationService.getRecommendations(account)));
+
+        study.close();
+        studyRecommendationService.refreshStudy(study.getId());
+        assertTrue(studyRecommendationService.getRecommendations(account).isEmpty());
+    }
+
+    @Test
+    void 계정의_관심_주제가_바뀌면_추천_갱신() {
+        Study study = publishedStudy("java-study");
+        studyRecommendationService.refreshAccount(account.getId());
+        assertEquals(List.of("java-study"), paths(studyRecommendationService.getRecommendations(account)));
+
+        account.getTags().remove(java);
+        studyRecommendationService.refreshAccount(account.getId());
+        assertTrue(studyRecommendationService.getRecommendations(account).isEmpty());
+
+        account.getTags().add(java);
+        studyRecommendationService.refreshAccount(account.getId());
+        studyRecommendationService.refreshStudy(study.getId());
+        assertEquals(List.of("java-study"), paths(studyRecommendationService.getRecommendations(account)));
+    }
+
+    @Test
+    void 다른_쪽_갱신이_먼저_넣은_추천은_건너뜀() {
+        Study study = publishedStudy("java-study");
+        studyRecommendationService.refreshStudy(study.getId());
+
+        assertEquals(0, studyRecommendationRepository.insertIfAbsent(account.getId(), study.getId(), study.getPublishedDateTime()));
+        studyRecommendationService.refreshAccount(account.getId());
+        assertEquals(1, studyRecommendationRepository.findByAccountId(account.getId()).size());
+    }
+
+    private Study publishedStudy(String path) {
+        Study study = new Study();
+        study.setPath(path);
+        study.setTitle(path);
+        study.getTags().add(java);
+        study.getZones().add(suwon);
+        study.publish();
+        return studyRepository.save(study);
+    }
+
+    private List<String> paths(List<StudyCard> studyCards) {
+        return studyCards.stream().map(StudyCard::getPath).collect(Collectors.toList());
+    }
+}
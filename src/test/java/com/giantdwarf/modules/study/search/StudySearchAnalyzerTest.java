@@ -0,0 +1,32 @@
+package com.giantdwarf.modules.study.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudySearchAnalyzerTest {
+
+    @Test
+    void 영문은_단어_한글은_bigram() {
+        assertEquals(List.of("spring", "boot", "스터", "터디"), StudySearchAnalyzer.analyze("Spring Boot 스터디"));
+        assertEquals(List.of("jpa", "기초"), StudySearchAnalyzer.analyze("JPA기초"));
+        assertEquals(List.of("java8", "자"), StudySearchAnalyzer.analyze("java8 (자)"));
+    }
+
+    @Test
+    void 한글_띄어쓰기는_무시() {
+        assertEquals(StudySearchAnalyzer.analyze("스프링부트"), StudySearchAnalyzer.analyze("스프링 부트"));
+        assertEquals(StudySearchAnalyzer.analyze("스프링부트"), StudySearchAnalyzer.analyze("스프링   부 트"));
+    }
+
+    @Test
+    void 한글_bigram만_정확히_매칭() {
+        assertFalse(StudySearchAnalyzer.isPrefixTerm("스프"));
+        assertTrue(StudySearchAnalyzer.isPrefixTerm("스"));
+        assertTrue(StudySearchAnalyzer.isPrefixTerm("spr"));
+        assertTrue(StudySearchAnalyzer.matches("spr", "spring"));
+        assertFalse(StudySearchAnalyzer.matches("스프", "스프링"));
+    }
+}
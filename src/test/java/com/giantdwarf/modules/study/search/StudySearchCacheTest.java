@@ -0,0 +1,93 @@
+package com.giantdwarf.modules.study.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudySearchCacheTest {
+
+    static final StudySearchFilter NO_FILTER = new StudySearchFilter();
+
+    StudySearchCache studySearchCache;
+
+    @BeforeEach
+    void beforeEach() {
+        studySearchCache = new StudySearchCache();
+    }
+
+    @Test
+    void 검색어를_정규화해서_캐시() {
+        put(StudySearchCache.key("  Spring   Boot ", NO_FILTER, "publishedDateTime", "cursor:first", 9), Set.of(1L, 2L));
+
+        assertNotNull(studySearchCache.get(StudySearchCache.key("spring boot", NO_FILTER, "publishedDateTime", "cursor:first", 9)));
+        assertNull(studySearchCache.get(StudySearchCache.key("spring boot", NO_FILTER, "memberCount", "cursor:first", 9)));
+        assertEquals(1, studySearchCache.getHits());
+        assertEquals(1, studySearchCache.getMisses());
+    }
+
+    @Test
+    void 필터가_다르면_따로_캐시() {
+        StudySearchFilter filter = new StudySearchFilter();
+        filter.setTag(10L);
+        put(StudySearchCache.key("spring", NO_FILTER, "publishedDateTime", "cursor:first", 9), Set.of(1L, 2L));
+
+        assertNull(studySearchCache.get(StudySearchCache.key("spring", filter, "publishedDateTime", "cursor:first", 9)));
+    }
+
+    @Test
+    void 바뀐_스터디와_관련된_검색어만_무효화() {
+        StudySearchCache.Key spring = StudySearchCache.key("spring", NO_FILTER, "publishedDateTime", "cursor:first", 9);
+        StudySearchCache.Key jpa = StudySearchCache.key("jpa", NO_FILTER, "publishedDateTime", "cursor:first", 9);
+        StudySearchCache.Key java = StudySearchCache.key("java", NO_FILTER, "publishedDateTime", "cursor:first", 9);
+        put(spring, Set.of(1L));
+        put(jpa, Set.of(2L));
+        put(java, Set.of(3L));
+
+        //1번 스터디가 spring 결과에서 빠지고 jpa 검색어에 새로 매칭되는 경우
+        studySearchCache.invalidate(1L, "jpa"::equals);
+
+        assertNull(studySearchCache.get(spring));
+        assertNull(studySearchCache.get(jpa));
+        assertNotNull(studySearchCache.get(java));
+    }
+
+    @Test
+    void 무효화_이전에_시작한_검색결과는_저장하지_않음() {
+        StudySearchCache.Key key = StudySearchCache.key("spring", NO_FILTER, "publishedDateTime", "cursor:first", 9);
+        long generation = studySearchCache.currentGeneration();
+
+        studySearchCache.invalidate(1L, keyword -> false);
+        studySearchCache.put(key, generation, Set.of(1L), List.of(1L), 1L);
+
+        assertNull(studySearchCache.get(key));
+    }
+
+    @Test
+    void 최대_크기를_넘으면_오래된_항목부터_제거() {
+        for (int i = 0; i <= StudySearchCache.MAXIMUM_SIZE; i++) {
+            put(StudySearchCache.key("keyword" + i, NO_FILTER, "publishedDateTime", "cursor:first", 9), Set.of((long) i));
+        }
+
+        assertEquals(StudySearchCache.MAXIMUM_SIZE, studySearchCache.size());
+        assertEquals(1, studySearchCache.getEvictions());
+    }
+
+    @Test
+    void 색인_버전이_바뀌면_facet_캐시를_버림() {
+        StudySearchCache.Key key = StudySearchCache.facetsKey("Spring", NO_FILTER);
+        StudyFacets facets = StudyFacets.empty();
+        studySearchCache.putFacets(key, 1L, facets);
+
+        assertSame(facets, studySearchCache.getFacets(StudySearchCache.facetsKey("spring", NO_FILTER), 1L));
+        assertNull(studySearchCache.getFacets(key, 2L));
+        assertNull(studySearchCache.getFacets(key, 1L));
+    }
+
+    private void put(StudySearchCache.Key key, Set<Long> matchedIds) {
+        studySearchCache.put(key, studySearchCache.currentGeneration(), matchedIds, List.copyOf(matchedIds), (long) matchedIds.size());
+    }
+}
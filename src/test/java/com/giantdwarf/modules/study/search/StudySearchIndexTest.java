@@ -0,0 +1,230 @@
+package com.giantdwarf.modules.study.search;
+
+import com.giantdwarf.modules.study.Study;
+import com.giantdwarf.modules.study.StudyCard;
+import com.giantdwarf.modules.tag.Tag;
+import com.giantdwarf.modules.zone.Zone;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudySearchIndexTest {
+
+    StudySearchIndex studySearchIndex;
+
+    @BeforeEach
+    void beforeEach() {
+        studySearchIndex = new StudySearchIndex();
+    }
+
+    @Test
+    void 제목_태그_지역으로_검색() {
+        Study spring = publishedStudy(1L, "Spring Boot 스터디");
+        spring.getTags().add(Tag.builder().id(10L).title("jpa").build());
+        spring.getZones().add(Zone.builder().id(20L).city("Suwon").localNameOfCity("수원시").province("Gyeonggi").build());
+        studySearchIndex.index(StudyDocument.of(spring));
+        studySearchIndex.index(StudyDocument.of(publishedStudy(2L, "Java 기초")));
+
+        assertEquals(Set.of(1L), studySearchIndex.search("spring"));
+        assertEquals(Set.of(1L), studySearchIndex.search("JPA"));
+        assertEquals(Set.of(1L), studySearchIndex.search("수원시"));
+        assertEquals(Set.of(2L), studySearchIndex.search("jav"));
+        assertEquals(Set.of(1L), studySearchIndex.search("spring 수원"));
+        assertTrue(studySearchIndex.search("spring java").isEmpty());
+    }
+
+    @Test
+    void 띄어쓰기가_달라도_검색() {
+        studySearchIndex.index(StudyDocument.of(publishedStudy(1L, "스프링부트 입문")));
+        studySearchIndex.index(StudyDocument.of(publishedStudy(2L, "스프링 부트 심화")));
+        studySearchIndex.index(StudyDocument.of(publishedStudy(3L, "부트캠프")));
+
+        assertEquals(Set.of(1L, 2L), studySearchIndex.search("스프링 부트"));
+        assertEquals(Set.of(1L, 2L), studySearchIndex.search("스프링부트"));
+        assertEquals(Set.of(2L), studySearchIndex.search("부트심화"));
+        assertEquals(Set.of(1L, 2L, 3L), studySearchIndex.search("부트"));
+    }
+
+    @Test
+    void 변경된_스터디는_다시_색인() {
+        Study study = publishedStudy(1L, "spring");
+        studySearchIndex.index(StudyDocument.of(study));
+
+        study.setTitle("django");
+        studySearchIndex.index(StudyDocument.of(study));
+
+        assertTrue(studySearchIndex.search("spring").isEmpty());
+        assertEquals(Set.of(1L), studySearchIndex.search("django"));
+    }
+
+    @Test
+    void 비공개_스터디와_삭제된_스터디는_검색되지_않음() {
+        Study draft = publishedStudy(1L, "spring");
+        draft.setPublished(false);
+        studySearchIndex.index(StudyDocument.of(draft));
+        Study removed = publishedStudy(2L, "spring");
+        studySearchIndex.index(StudyDocument.of(removed));
+        studySearchIndex.remove(removed.getId());
+
+        assertTrue(studySearchIndex.search("spring").isEmpty());
+        assertEquals(0, studySearchIndex.size());
+    }
+
+    @Test
+    void 태그_지역_필터와_facet_개수() {
+        Tag jpa = Tag.builder().id(10L).title("jpa").build();
+        Tag java = Tag.builder().id(11L).title("java").build();
+        Zone suwon = Zone.builder().id(20L).city("Suwon").localNameOfCity("수원시").province("Gyeonggi").build();
+        Zone seoul = Zone.builder().id(21L).city("Seoul").localNameOfCity("서울특별시").province("none").build();
+        Study first = publishedStudy(1L, "spring 1");
+        first.getTags().addAll(Set.of(jpa, java));
+        first.getZones().add(suwon);
+        Study second = publishedStudy(2L, "spring 2");
+        second.getTags().add(jpa);
+        second.getZones().add(seoul);
+        Study third = publishedStudy(3L, "spring 3");
+        third.getTags().add(java);
+        third.getZones().add(suwon);
+        studySearchIndex.index(StudyDocument.of(first));
+        studySearchIndex.index(StudyDocument.of(second));
+        studySearchIndex.index(StudyDocument.of(third));
+
+        Set<Long> matched = studySearchIndex.search("spring");
+        StudySearchFilter filter = new StudySearchFilter();
+        filter.setTag(10L);
+        assertEquals(Set.of(1L, 2L), studySearchIndex.filter(matched, filter));
+        filter.setProvince("Gyeonggi");
+        assertEquals(Set.of(1L), studySearchIndex.filter(matched, filter));
+
+        StudyFacets facets = studySearchIndex.facets(matched);
+        assertEquals(List.of("java 2", "jpa 2"), labels(facets.getTags()));
+        assertEquals(List.of("수원시 2", "서울특별시 1"), labels(facets.getZones()));
+        assertEquals("20", facets.getZones().get(0).getValue());
+
+        long version = studySearchIndex.version();
+        studySearchIndex.remove(3L);
+        assertTrue(studySearchIndex.version() > version);
+        assertEquals(List.of("jpa 2", "java 1"), labels(studySearchIndex.facets(studySearchIndex.search("spring")).getTags()));
+    }
+
+    @Test
+    void 제목_태그_지역_소개_순으로_정렬() {
+        LocalDateTime now = LocalDateTime.now();
+        Study byTitle = publishedStudy(1L, "jpa 스터디");
+        Study byTag = publishedStudy(2L, "스터디");
+        byTag.getTags().add(Tag.builder().id(10L).title("jpa").build());
+        Study byDescription = publishedStudy(3L, "스터디");
+        byDescription.setShortDescription("jpa 입문");
+        //설명에만 매칭되면 최근에 공개했고 멤버가 많아도 제목 매칭보다 뒤에 온다.
+        byDescription.setMemberCount(100);
+        byDescription.setRecruiting(true);
+        byDescription.setPublishedDateTime(now);
+        List.of(byDescription, byTag, byTitle).forEach(studySearchIndex::index);
+
+        Set<Long> matched = studySearchIndex.search("jpa");
+        assertEquals(List.of(1L, 2L, 3L), studySearchIndex.rank("jpa", matched, 10, now));
+        assertEquals(List.of(1L, 2L), studySearchIndex.rank("jpa", matched, 2, now));
+    }
+
+    @Test
+    void 태그_매칭은_인기_있는_지역_매칭보다_먼저() {
+        LocalDateTime now = LocalDateTime.now();
+        Study byTag = publishedStudy(1L, "스터디");
+        byTag.getTags().add(Tag.builder().id(10L).title("suwon").build());
+        byTag.setPublishedDateTime(now.minusDays(365));
+        Study byZone = publishedStudy(2L, "스터디");
+        byZone.getZones().add(Zone.builder().id(20L).city("Suwon").localNameOfCity("수원시").province("Gyeonggi").build());
+        byZone.setMemberCount(1000);
+        byZone.setRecruiting(true);
+        byZone.setPublishedDateTime(now);
+        studySearchIndex.index(StudyDocument.of(byTag));
+        studySearchIndex.index(StudyDocument.of(byZone));
+
+        assertEquals(List.of(1L, 2L), studySearchIndex.rank("suwon", studySearchIndex.search("suwon"), 10, now));
+    }
+
+    @Test
+    void 매칭이_같으면_최신_스터디가_먼저() {
+        LocalDateTime now = LocalDateTime.now();
+        Study old = publishedStudy(1L, "spring");
+        old.setPublishedDateTime(now.minusDays(365));
+        Study recent = publishedStudy(2L, "spring");
+        recent.setPublishedDateTime(now.minusDays(1));
+        studySearchIndex.index(StudyDocument.of(old));
+        studySearchIndex.index(StudyDocument.of(recent));
+
+        assertEquals(List.of(2L, 1L), studySearchIndex.rank("spring", studySearchIndex.search("spring"), 10, now));
+    }
+
+    @Test
+    void 색인에서_정렬하고_한_페이지의_id만_돌려줌() {
+        Set<Long> matched = indexFiveStudies(LocalDateTime.now());
+
+        assertEquals(List.of(3L, 4L), studySearchIndex.sort(matched, StudyCursor.PUBLISHED_DATE_TIME, false, 2, 2));
+        assertEquals(List.of(5L), studySearchIndex.sort(matched, StudyCursor.PUBLISHED_DATE_TIME, false, 4, 2));
+        assertEquals(List.of(5L, 4L), studySearchIndex.sort(matched, StudyCursor.PUBLISHED_DATE_TIME, true, 0, 2));
+        //멤버 수가 같으면 id가 큰 스터디가 먼저
+        assertEquals(List.of(5L, 2L, 4L), studySearchIndex.sort(matched, StudyCursor.MEMBER_COUNT, false, 0, 3));
+    }
+
+    @Test
+    void 가입_탈퇴는_멤버_수만_고침() {
+        Set<Long> matched = indexFiveStudies(LocalDateTime.now());
+
+        studySearchIndex.updateMemberCount(3L, 5);
+        studySearchIndex.updateMemberCount(5L, -1);
+
+        assertEquals(List.of(3L, 2L, 5L), studySearchIndex.sort(matched, StudyCursor.MEMBER_COUNT, false, 0, 3));
+        assertEquals(matched, studySearchIndex.search("spring"));
+    }
+
+    @Test
+    void 색인에서_커서로_다음_이전_페이지() {
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> matched = indexFiveStudies(now);
+
+        StudyCursor first = StudyCursor.first(StudyCursor.PUBLISHED_DATE_TIME);
+        assertEquals(List.of(1L, 2L, 3L), studySearchIndex.seek(matched, first, 3));
+
+        StudyCursor next = StudyCursor.after(StudyCursor.PUBLISHED_DATE_TIME, card(2L, now.minusDays(2), 2));
+        assertEquals(List.of(3L, 4L, 5L), studySearchIndex.seek(matched, next, 3));
+
+        StudyCursor previous = StudyCursor.before(StudyCursor.PUBLISHED_DATE_TIME, card(4L, now.minusDays(4), 1));
+        assertEquals(List.of(2L, 3L), studySearchIndex.seek(matched, previous, 2));
+    }
+
+    //id가 클수록 오래전에 공개했고, 멤버 수는 id % 3
+    private Set<Long> indexFiveStudies(LocalDateTime now) {
+        for (long id = 1; id <= 5; id++) {
+            Study study = publishedStudy(id, "spring");
+            study.setPublishedDateTime(now.minusDays(id));
+            study.setMemberCount((int) (id % 3));
+            studySearchIndex.index(StudyDocument.of(study));
+        }
+        return studySearchIndex.search("spring");
+    }
+
+    private StudyCard card(Long id, LocalDateTime publishedDateTime, int memberCount) {
+        return new StudyCard(id, "path-" + id, "spring", "short description", memberCount, publishedDateTime, null);
+    }
+
+    private List<String> labels(List<StudyFacets.Count> counts) {
+        return counts.stream().map(count -> count.getLabel() + " " + count.getCount()).collect(Collectors.toList());
+    }
+
+    private Study publishedStudy(Long id, String title) {
+        Study study = new Study();
+        study.setId(id);
+        study.setTitle(title);
+        study.setShortDescription("short description");
+        study.setPublished(true);
+        return study;
+    }
+}
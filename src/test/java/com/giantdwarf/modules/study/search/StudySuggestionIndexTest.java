@@ -0,0 +1,83 @@
+package com.giantdwarf.modules.study.search;
+
+import com.giantdwarf.modules.study.Study;
+import com.giantdwarf.modules.tag.Tag;
+import com.giantdwarf.modules.zone.Zone;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudySuggestionIndexTest {
+
+    StudySuggestionIndex studySuggestionIndex;
+
+    @BeforeEach
+    void beforeEach() {
+        studySuggestionIndex = new StudySuggestionIndex();
+    }
+
+    @Test
+    void 접두어로_제목_태그_지역을_제안() {
+        Study study = publishedStudy(1L, "자바 스터디");
+        study.getTags().add(Tag.builder().id(10L).title("자바스크립트").build());
+        study.getZones().add(Zone.builder().id(20L).city("Suwon").localNameOfCity("수원시").province("Gyeonggi").build());
+        studySuggestionIndex.index(StudyDocument.of(study));
+
+        assertEquals(List.of("자바 스터디", "자바스크립트"), studySuggestionIndex.suggest("자바", 10));
+        assertEquals(List.of("자바 스터디", "자바스크립트"), studySuggestionIndex.suggest("자바스", 10));
+        assertEquals(List.of("수원시"), studySuggestionIndex.suggest("수원", 10));
+        assertEquals(List.of("Suwon"), studySuggestionIndex.suggest("su", 10));
+    }
+
+    @Test
+    void 초성으로_제안() {
+        studySuggestionIndex.index(StudyDocument.of(publishedStudy(1L, "자바")));
+        studySuggestionIndex.index(StudyDocument.of(publishedStudy(2L, "장부")));
+        studySuggestionIndex.index(StudyDocument.of(publishedStudy(3L, "스프링")));
+
+        assertEquals(List.of("자바", "장부"), studySuggestionIndex.suggest("ㅈㅂ", 10));
+        assertEquals(List.of("자바"), studySuggestionIndex.suggest("자ㅂ", 10));
+        assertEquals(List.of("스프링"), studySuggestionIndex.suggest("ㅅㅍ", 10));
+    }
+
+    @Test
+    void 많이_쓰인_제안어부터_size개만() {
+        Study spring = publishedStudy(1L, "spring");
+        spring.getTags().add(Tag.builder().id(10L).title("jpa").build());
+        Study jpa = publishedStudy(2L, "jpa 기초");
+        jpa.getTags().add(Tag.builder().id(10L).title("jpa").build());
+        studySuggestionIndex.index(StudyDocument.of(spring));
+        studySuggestionIndex.index(StudyDocument.of(jpa));
+        studySuggestionIndex.index(StudyDocument.of(publishedStudy(3L, "jpa 심화")));
+
+        assertEquals(List.of("jpa"), studySuggestionIndex.suggest("j", 1));
+    }
+
+    @Test
+    void 바뀌거나_비공개된_스터디는_제안하지_않음() {
+        Study study = publishedStudy(1L, "spring");
+        studySuggestionIndex.index(StudyDocument.of(study));
+
+        study.setTitle("django");
+        studySuggestionIndex.index(StudyDocument.of(study));
+        assertTrue(studySuggestionIndex.suggest("spr", 10).isEmpty());
+        assertEquals(List.of("django"), studySuggestionIndex.suggest("dj", 10));
+
+        study.setPublished(false);
+        studySuggestionIndex.index(StudyDocument.of(study));
+        assertTrue(studySuggestionIndex.suggest("dj", 10).isEmpty());
+        assertEquals(0, studySuggestionIndex.size());
+    }
+
+    private Study publishedStudy(Long id, String title) {
+        Study study = new Study();
+        study.setId(id);
+        study.setTitle(title);
+        study.setPublished(true);
+        return study;
+    }
+}
@@ -0,0 +1,70 @@
+package com.giantdwarf.modules.tag;
+
+import com.giantdwarf.infra.AbstractContainerBaseTest;
+import com.giantdwarf.infra.MockMvcTest;
+import com.giantdwarf.modules.account.WithAccount;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@MockMvcTest
+class TagControllerTest extends AbstractContainerBaseTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired TagWhitelist tagWhitelist;
+
+    @Test
+    @WithAccount("yang")
+    void 태그_목록을_gzip으로_받고_바뀌지_않으면_304() throws Exception {
+        tagWhitelist.add("whitelist-test");
+
+        byte[] gzipBody = mockMvc.perform(get(tagWhitelist.getUrl()).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age")))
+                .andExpect(header().string(HttpHeaders.ETAG, tagWhitelist.current().getGzipETag()))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipBody))) {
+            assertTrue(new String(in.readAllBytes(), StandardCharsets.UTF_8).contains("\"whitelist-test\""));
+        }
+
+        String eTag = tagWhitelist.current().getETag();
+        mockMvc.perform(get(TagWhitelist.URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+        //gzip 본문의 ETag로는 원래 본문을 304로 받을 수 없다.
+        mockMvc.perform(get(TagWhitelist.URL).header(HttpHeaders.IF_NONE_MATCH, tagWhitelist.current().getGzipETag()))
+                .andExpect(status().isOk());
+
+        tagWhitelist.add("whitelist-test-2");
+        assertNotEquals(eTag, tagWhitelist.current().getETag());
+        mockMvc.perform(get(TagWhitelist.URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")))
+                .andExpect(content().string(containsString("\"whitelist-test-2\"")));
+    }
+
+    @Test
+    @WithAccount("yang")
+    void q가_0이면_gzip으로_보내지_않음() throws Exception {
+        mockMvc.perform(get(TagWhitelist.URL).header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, tagWhitelist.current().getETag()));
+
+        mockMvc.perform(get(TagWhitelist.URL).header(HttpHeaders.ACCEPT_ENCODING, "br, *;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.giantdwarf.modules.tag;
+
+import com.giantdwarf.infra.AbstractContainerBaseTest;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//쿼리 캐시는 커밋된 뒤에야 쓰이므로 @MockMvcTest(@Transactional)를 쓰지 않는다.
+@ActiveProfiles("test")
+@SpringBootTest
+class TagRepositoryCacheTest extends AbstractContainerBaseTest {
+
+    @Autowired TagRepository tagRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void beforeEach() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        tagRepository.save(Tag.builder().title("cache-test").build());
+        statistics.clear();
+    }
+
+    @AfterEach
+    void afterEach() {
+        tagRepository.findAll().stream()
+                .filter(tag -> tag.getTitle().startsWith("cache-test"))
+                .forEach(tagRepository::delete);
+    }
+
+    @Test
+    void 같은_태그를_다시_찾으면_쿼리_캐시에서_읽음() {
+        tagRepository.findByTitle("cache-test");
+        tagRepository.findByTitle("cache-test");
+
+        assertEquals(1, statistics.getQueryCacheMissCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+    }
+
+    @Test
+    void 태그가_추가되면_목록_캐시가_무효화됨() {
+        int before = tagRepository.findAll().size();
+        tagRepository.save(Tag.builder().title("cache-test-2").build());
+
+        assertEquals(before + 1, tagRepository.findAll().size());
+        assertEquals(0, statistics.getQueryCacheHitCount());
+    }
+}
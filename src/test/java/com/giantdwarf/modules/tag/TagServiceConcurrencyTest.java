@@ -0,0 +1,90 @@
+package com.giantdwarf.modules.tag;
+
+import com.giantdwarf.infra.AbstractContainerBaseTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//요청마다 따로 커밋되어야 서로 부딪히므로 @MockMvcTest(@Transactional)를 쓰지 않는다.
+@ActiveProfiles("test")
+@SpringBootTest
+class TagServiceConcurrencyTest extends AbstractContainerBaseTest {
+
+    static final int REQUESTS = 100;
+
+    @Autowired TagService tagService;
+    @Autowired TagRepository tagRepository;
+    @Autowired TagCreatedEventCounter tagCreatedEventCounter;
+
+    //캐시에 남은 태그와 겹치지 않도록 매번 새 제목을 쓴다.
+    String title = "concurrent-tag-" + System.nanoTime();
+
+    @AfterEach
+    void afterEach() {
+        tagRepository.delete(tagRepository.findByTitle(title));
+    }
+
+    @Test
+    void 같은_새_태그를_동시에_만들어도_하나만_생김() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Tag>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                return tagService.findOrCreateNew(title);
+            }));
+        }
+        start.countDown();
+        List<Long> ids = new ArrayList<>();
+        for (Future<Tag> future : futures) {
+            ids.add(future.get(30, TimeUnit.SECONDS).getId());
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+        Tag tag = tagRepository.findByTitle(title);
+        assertTrue(ids.stream().allMatch(tag.getId()::equals));
+        assertEquals(1, tagRepository.findAll().stream().filter(t -> title.equals(t.getTitle())).count());
+        assertEquals(1, tagCreatedEventCounter.count(title));
+    }
+
+    @TestConfiguration
+    static class TagCreatedEventCounterConfig {
+
+        @Bean
+        TagCreatedEventCounter tagCreatedEventCounter() {
+            return new TagCreatedEventCounter();
+        }
+    }
+
+    static class TagCreatedEventCounter {
+
+        private final List<String> titles = new ArrayList<>();
+
+        @EventListener
+        public synchronized void handleTagCreatedEvent(TagCreatedEvent tagCreatedEvent) {
+            titles.add(tagCreatedEvent.getTitle());
+        }
+
+        synchronized long count(String title) {
+            return titles.stream().filter(title::equals).count();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.giantdwarf.modules.tag;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TagServiceTest {
+
+    TagRepository tagRepository = mock(TagRepository.class);
+    TagService tagService = new TagService(tagRepository, mock(ApplicationEventPublisher.class));
+
+    @Test
+    void 캐시는_최대_크기를_넘지_않고_오래_쓰지_않은_태그부터_버림() {
+        given(tagRepository.findByTitle(anyString()))
+                .willAnswer(invocation -> Tag.builder().title(invocation.getArgument(0)).build());
+
+        tagService.findOrCreateNew("tag-0");
+        for (int i = 1; i <= TagService.MAXIMUM_SIZE; i++) {
+            tagService.findOrCreateNew("tag-" + i);
+            if (i == 1) {
+                //가장 먼저 넣은 태그를 다시 쓰면 가장 최근에 쓴 태그가 된다.
+                tagService.findOrCreateNew("tag-0");
+            }
+        }
+        tagService.findOrCreateNew("tag-0");
+        tagService.findOrCreateNew("tag-1");
+
+        assertEquals(TagService.MAXIMUM_SIZE, tagService.cachedSize());
+        verify(tagRepository, times(1)).findByTitle("tag-0");
+        verify(tagRepository, times(2)).findByTitle("tag-1");
+    }
+}